@@ -0,0 +1,54 @@
+package com.medimind.api.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword calorie estimate for a logged meal, by number of food items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MealControllerBenchmark {
+
+    private static final String[] FOODS = {"Rice", "Chicken curry", "Dal", "Egg", "Roti", "Salad", "Fish fry",
+            "Paneer", "Apple", "Banana", "Yogurt", "Bread", "Pasta", "Beef", "Milk tea", "Mixed vegetables",
+            "Unknown snack", "Samosa", "Noodles", "Orange juice"};
+
+    @Param({"1", "5", "20"})
+    public int itemCount;
+
+    private String foodItems;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<String> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(FOODS[random.nextInt(FOODS.length)]);
+        }
+        foodItems = String.join(", ", items);
+    }
+
+    @Benchmark
+    public int calculateCalories() {
+        return MealController.calculateCalories(foodItems);
+    }
+}
@@ -0,0 +1,69 @@
+package com.medimind.api.controller;
+
+import com.medimind.api.model.Medicine;
+import com.medimind.api.model.TodaysDose;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expansion of a user's active medicines into today's dose list (the body
+ * of GET /api/medicines/today/{userId}, minus the query).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MedicineControllerBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int medicineCount;
+
+    private List<Medicine> medicines;
+    private LocalDate today;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        today = LocalDate.of(2024, 6, 15);
+        medicines = new ArrayList<>(medicineCount);
+        for (int i = 0; i < medicineCount; i++) {
+            Medicine med = new Medicine();
+            med.setId((long) i);
+            med.setUserId(1L);
+            med.setName("Medicine " + i);
+            med.setDosage((100 + random.nextInt(900)) + "mg");
+            med.setDurationDays(30);
+            // A few have not started yet or already ended, like real data
+            LocalDate start = today.minusDays(random.nextInt(40) - 5);
+            med.setStartDate(start);
+            med.setEndDate(start.plusDays(29));
+            med.setTime1(String.format("%02d:%02d", 6 + random.nextInt(4), random.nextInt(60)));
+            if (random.nextBoolean()) med.setTime2(String.format("%02d:%02d", 12 + random.nextInt(3), random.nextInt(60)));
+            if (random.nextInt(3) == 0) med.setTime3(String.format("%02d:%02d", 19 + random.nextInt(4), random.nextInt(60)));
+            med.setTime1Taken(random.nextBoolean());
+            medicines.add(med);
+        }
+    }
+
+    @Benchmark
+    public List<TodaysDose> expandTodaysDoses() {
+        return MedicineController.expandTodaysDoses(medicines, today);
+    }
+}
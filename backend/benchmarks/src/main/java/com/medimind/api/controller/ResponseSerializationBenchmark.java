@@ -0,0 +1,179 @@
+package com.medimind.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medimind.api.model.Medicine;
+import com.medimind.api.model.User;
+import com.medimind.api.model.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and serializing the user and today's-doses responses as record
+ * DTOs versus the HashMap payloads they replaced, with an ObjectMapper set
+ * up the way Spring MVC's is. Run with -prof gc for the allocation rate
+ * (gc.alloc.rate.norm is bytes per response).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"10"})
+    public int medicineCount;
+
+    private ObjectMapper mapper;
+    private User user;
+    private List<Medicine> medicines;
+    private LocalDate today;
+
+    @Setup
+    public void setup() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        Random random = new Random(42);
+
+        user = new User();
+        user.setId(42L);
+        user.setFullName("Bench User");
+        user.setUsername("bench");
+        user.setEmail("bench@example.com");
+        user.setHeight(170);
+        user.setWeight(82);
+        user.setTargetWeight(72);
+        user.setAge(45);
+        user.setGender("Female");
+        user.setAllergies("peanuts, shellfish");
+        user.setConditions("Diabetes");
+        user.setProfileIcon("avatar3");
+        user.setNotificationSound("gentle");
+        user.setStreak(12);
+        user.setLastClaimDate("2024-06-14");
+        user.setTotalWaterLogs(240);
+        user.setTotalMealsLogged(310);
+
+        today = LocalDate.of(2024, 6, 15);
+        medicines = new ArrayList<>(medicineCount);
+        for (int i = 0; i < medicineCount; i++) {
+            Medicine med = new Medicine();
+            med.setId((long) i);
+            med.setUserId(1L);
+            med.setName("Medicine " + i);
+            med.setDosage((100 + random.nextInt(900)) + "mg");
+            med.setStartDate(today.minusDays(random.nextInt(20)));
+            med.setEndDate(today.plusDays(random.nextInt(20)));
+            med.setTime1(String.format("%02d:%02d", 6 + random.nextInt(4), random.nextInt(60)));
+            if (random.nextBoolean()) med.setTime2(String.format("%02d:%02d", 12 + random.nextInt(3), random.nextInt(60)));
+            if (random.nextInt(3) == 0) med.setTime3(String.format("%02d:%02d", 19 + random.nextInt(4), random.nextInt(60)));
+            med.setTime1Taken(random.nextBoolean());
+            medicines.add(med);
+        }
+    }
+
+    @Benchmark
+    public byte[] userRecord() throws Exception {
+        return mapper.writeValueAsBytes(UserResponse.from(user));
+    }
+
+    @Benchmark
+    public byte[] userMap() throws Exception {
+        return mapper.writeValueAsBytes(userAsMap(user));
+    }
+
+    @Benchmark
+    public byte[] todaysDosesRecord() throws Exception {
+        return mapper.writeValueAsBytes(MedicineController.expandTodaysDoses(medicines, today));
+    }
+
+    @Benchmark
+    public byte[] todaysDosesMap() throws Exception {
+        return mapper.writeValueAsBytes(dosesAsMaps(medicines, today));
+    }
+
+    // The previous user payload, as built by AuthController and UserController
+    private static Map<String, Object> userAsMap(User user) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", user.getId());
+        response.put("fullName", user.getFullName());
+        response.put("username", user.getUsername());
+        response.put("email", user.getEmail());
+        response.put("emailVerified", user.isEmailVerified());
+        response.put("height", user.getHeight());
+        response.put("weight", user.getWeight());
+        response.put("age", user.getAge());
+        response.put("gender", user.getGender());
+        response.put("allergies", user.getAllergies());
+        response.put("conditions", user.getConditions());
+        response.put("targetWeight", user.getTargetWeight());
+        response.put("profilePicture", user.getProfilePicture());
+        response.put("profileIcon", user.getProfileIcon());
+        response.put("notificationSound", user.getNotificationSound());
+        response.put("notificationsEnabled", user.isNotificationsEnabled());
+        response.put("dailyCalorieGoal", user.getDailyCalorieGoal());
+        response.put("waterIntake", user.getWaterIntake());
+        response.put("points", user.getPoints());
+        response.put("level", user.getLevel());
+        response.put("mood", user.getMood());
+        response.put("bmi", user.getBmi());
+        response.put("bmiCategory", user.getBmiCategory());
+        response.put("recommendedCalories", user.getRecommendedCalories());
+        response.put("streak", user.getStreak());
+        response.put("lastClaimDate", user.getLastClaimDate());
+        response.put("totalWaterLogs", user.getTotalWaterLogs());
+        response.put("totalMealsLogged", user.getTotalMealsLogged());
+        response.put("perfectMedicineDays", user.getPerfectMedicineDays());
+        response.put("perfectDays", user.getPerfectDays());
+        response.put("morningLogs", user.getMorningLogs());
+        response.put("eveningLogs", user.getEveningLogs());
+        response.put("journalEntries", user.getJournalEntries());
+        response.put("lastUsernameChange", user.getLastUsernameChange());
+        return response;
+    }
+
+    // The previous today's-doses payload from MedicineController
+    private static List<Map<String, Object>> dosesAsMaps(List<Medicine> medicines, LocalDate today) {
+        List<Map<String, Object>> todayList = new ArrayList<>();
+        for (Medicine med : medicines) {
+            if (med.getStartDate() != null && today.isBefore(med.getStartDate())) continue;
+            if (med.getEndDate() != null && today.isAfter(med.getEndDate())) continue;
+            long daysRemaining = med.getEndDate() == null ? 0
+                    : java.time.temporal.ChronoUnit.DAYS.between(today, med.getEndDate());
+            String[] times = {med.getTime1(), med.getTime2(), med.getTime3()};
+            boolean[] taken = {med.isTime1Taken(), med.isTime2Taken(), med.isTime3Taken()};
+            for (int slot = 0; slot < 3; slot++) {
+                if (times[slot] == null || times[slot].isEmpty()) continue;
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("medicineId", med.getId());
+                entry.put("medicineName", med.getName());
+                entry.put("dosage", med.getDosage() != null ? med.getDosage() : "");
+                entry.put("slot", slot + 1);
+                entry.put("time", times[slot]);
+                entry.put("taken", taken[slot]);
+                entry.put("daysRemaining", Math.max(0, daysRemaining));
+                entry.put("takenAt", taken[slot] && med.getLastTakenAt() != null ? med.getLastTakenAt().toString() : null);
+                todayList.add(entry);
+            }
+        }
+        todayList.sort((a, b) -> ((String) a.get("time")).compareTo((String) b.get("time")));
+        return todayList;
+    }
+}
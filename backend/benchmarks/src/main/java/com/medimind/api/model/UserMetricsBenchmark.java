@@ -0,0 +1,72 @@
+package com.medimind.api.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The derived User getters that every profile response serializes, over
+ * a spread of synthetic users so the BMI category branches all get hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMetricsBenchmark {
+
+    private static final int USERS = 1024;
+
+    private User[] users;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        users = new User[USERS];
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setHeight(150 + random.nextInt(50));
+            user.setWeight(45 + random.nextInt(80));
+            user.setTargetWeight(55 + random.nextInt(30));
+            user.setAge(18 + random.nextInt(60));
+            user.setGender(random.nextBoolean() ? "Male" : "Female");
+            users[i] = user;
+        }
+    }
+
+    private User nextUser() {
+        next = (next + 1) & (USERS - 1);
+        return users[next];
+    }
+
+    @Benchmark
+    public double bmi() {
+        return nextUser().getBmi();
+    }
+
+    @Benchmark
+    public void allDerivedMetrics(Blackhole bh) {
+        User user = nextUser();
+        bh.consume(user.getBmi());
+        bh.consume(user.getBmiCategory());
+        bh.consume(user.getRecommendedCalories());
+    }
+
+    @Benchmark
+    public UserProfile profileSnapshot() {
+        return UserProfile.from(nextUser());
+    }
+}
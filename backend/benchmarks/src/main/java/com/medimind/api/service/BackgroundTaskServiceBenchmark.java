@@ -0,0 +1,63 @@
+package com.medimind.api.service;
+
+import com.medimind.api.model.Medicine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The per-slot check the medicine reminder job runs for every active
+ * medicine each minute: a dose that is due, one that is not, and one
+ * already taken (which should short-circuit before parsing).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BackgroundTaskServiceBenchmark {
+
+    @Param({"due", "notDue", "taken"})
+    public String scenario;
+
+    private BackgroundTaskService service;
+    private Medicine medicine;
+    private LocalTime now;
+    private boolean taken;
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
+
+    @Setup
+    public void setup() {
+        // Measure the check, not console logging of the queued notification
+        Logger.getLogger(BackgroundTaskService.class.getName()).setLevel(Level.WARNING);
+
+        service = new BackgroundTaskService();
+        medicine = new Medicine();
+        medicine.setId(1L);
+        medicine.setName("Metformin");
+        medicine.setDosage("500mg");
+        medicine.setTime1("08:00");
+        now = "notDue".equals(scenario) ? LocalTime.of(13, 30) : LocalTime.of(8, 2);
+        taken = "taken".equals(scenario);
+    }
+
+    @Benchmark
+    public void checkTimeSlot() {
+        service.checkTimeSlot(medicine, medicine.getTime1(), taken, now, formatter, "bench");
+    }
+}
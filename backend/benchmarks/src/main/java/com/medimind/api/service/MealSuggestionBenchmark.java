@@ -0,0 +1,95 @@
+package com.medimind.api.service;
+
+import com.medimind.api.model.SuggestedMeal;
+import com.medimind.api.model.UserProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getSuggestedMeals over synthetic catalogs of increasing size, for a user
+ * with no restrictions, one with several allergies and one with chronic
+ * conditions (the allergy and condition branches are the expensive part).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MealSuggestionBenchmark {
+
+    private static final String[] CUISINES = {"Bangladeshi", "Indian", "Chinese", "Italian", "Mexican", "Thai", "Japanese", "Mediterranean"};
+    private static final String[] INGREDIENTS = {"Proteins", "Seafood", "Legumes", "Vegetables", "Grains", "Dairy", "Fruits"};
+    private static final String[] DISHES = {"Fish Curry", "Prawn Masala", "Paneer Tikka", "Egg Roll", "Nut Salad", "Pasta Bake", "Roti Wrap", "Vegetable Stew", "Rice Bowl", "Cheese Toast"};
+    private static final String[] FLAGS = {"high-protein", "vegetarian", "low-calorie", "diabetic-friendly", "low-sodium", "low-fat", "high-fiber", "nut-free"};
+
+    @Param({"30", "300", "3000"})
+    public int catalogSize;
+
+    @Param({"healthy", "allergic", "diabetic"})
+    public String profile;
+
+    private MealSuggestionService service;
+    private UserProfile user;
+    private List<String> foodItems;
+    private List<String> cuisines;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<MealSuggestionService.MealSuggestion> catalog = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            String dish = DISHES[random.nextInt(DISHES.length)];
+            List<String> flags = new ArrayList<>();
+            for (String flag : FLAGS) {
+                if (random.nextInt(4) == 0) flags.add(flag);
+            }
+            catalog.add(new MealSuggestionService.MealSuggestion(
+                    dish + " " + i,
+                    CUISINES[random.nextInt(CUISINES.length)],
+                    INGREDIENTS[random.nextInt(INGREDIENTS.length)],
+                    150 + random.nextInt(600),
+                    "Synthetic " + dish.toLowerCase() + " with cream, wheat and peanut garnish",
+                    flags));
+        }
+        service = new MealSuggestionService(catalog);
+
+        user = switch (profile) {
+            case "allergic" -> profile("seafood, prawn, nuts, dairy, gluten, egg", "");
+            case "diabetic" -> profile("", "Diabetes, Hypertension, Heart disease");
+            default -> profile("", "");
+        };
+        // Roughly what the UI sends: most ingredients, a few cuisines
+        foodItems = List.of("Proteins", "Seafood", "Legumes", "Vegetables", "Grains");
+        cuisines = List.of("Bangladeshi", "Indian", "Italian", "Thai");
+    }
+
+    private static UserProfile profile(String allergies, String conditions) {
+        return new UserProfile(1L, "bench", "Bench User", "bench@example.com",
+                170, 82, 72, 45, "Female", allergies, conditions, 2000, 28.4, "Overweight", 1850);
+    }
+
+    @Benchmark
+    public List<SuggestedMeal> suggestedMeals() {
+        return service.getSuggestedMeals(user, foodItems, cuisines);
+    }
+
+    @Benchmark
+    public List<SuggestedMeal> suggestedMealsAllCuisines() {
+        return service.getSuggestedMeals(user, foodItems, List.of());
+    }
+}
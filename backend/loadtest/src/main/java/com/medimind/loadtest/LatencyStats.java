@@ -0,0 +1,74 @@
+package com.medimind.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms (microseconds, 3 significant digits) and error counts
+ * per request and per scenario. Nothing is recorded until start() is
+ * called, so the warmup does not skew the results.
+ */
+public class LatencyStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    public static final class Series {
+        final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+
+        public Histogram histogram() {
+            return histogram;
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+    }
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean recording;
+    private volatile long startNanos;
+    private volatile long stopNanos;
+
+    public void start() {
+        startNanos = System.nanoTime();
+        recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+        stopNanos = System.nanoTime();
+    }
+
+    public void record(String name, long latencyNanos, boolean error) {
+        if (!recording) return;
+        Series s = series.computeIfAbsent(name, k -> new Series());
+        s.histogram.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, latencyNanos / 1000)));
+        if (error) s.errors.increment();
+    }
+
+    /** An open-model arrival that could not start because max-in-flight sessions were running. */
+    public void dropped() {
+        if (recording) dropped.increment();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public double elapsedSeconds() {
+        return (stopNanos - startNanos) / 1e9;
+    }
+
+    /** Series sorted by name; scenarios are prefixed "scenario:" and sort first. */
+    public Map<String, Series> snapshot() {
+        return new TreeMap<>(series);
+    }
+}
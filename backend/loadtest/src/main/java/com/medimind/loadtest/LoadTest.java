@@ -0,0 +1,261 @@
+package com.medimind.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays the recorded frontend scenarios against a running backend and
+ * reports throughput and latency percentiles per request and per scenario.
+ *
+ * Closed model: --concurrency virtual users each run a session, pause for
+ * an exponentially distributed think time and start over. Throughput then
+ * drops as the server slows down, like real users waiting on a page.
+ *
+ * Open model: sessions arrive as a Poisson process at --rate per second
+ * regardless of how the server is doing. Scenario latency is measured from
+ * the intended arrival time, so queueing behind a stalled server shows up
+ * in the percentiles instead of being hidden (coordinated omission).
+ *
+ * Exits 1 when a --max-p99-ms, --max-error-rate or (open model)
+ * --max-drop-rate threshold is exceeded, so a CI job can fail on a
+ * regression. The p99 limit applies to scenarios as well as requests.
+ */
+public class LoadTest {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String SCENARIO_PREFIX = "scenario:";
+
+    private final LoadTestOptions options;
+    private final Scenarios.Mix mix;
+    private final LatencyStats stats = new LatencyStats();
+    private final HttpClient client;
+    private volatile boolean stopping;
+
+    LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.mix = Scenarios.forName(options.scenario(), options);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout())
+                .executor(Executors.newCachedThreadPool(daemonThreads("http")))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        System.exit(new LoadTest(options).run());
+    }
+
+    int run() throws Exception {
+        System.out.printf("%s model, scenario %s against %s, users %d-%d, warmup %ds, duration %ds%n",
+                options.model().name().toLowerCase(Locale.ROOT), options.scenario(), options.baseUrl(),
+                options.userIdFrom(), options.userIdTo(),
+                options.warmup().toSeconds(), options.duration().toSeconds());
+
+        SplittableRandom root = new SplittableRandom(options.seed());
+        long measureStart = System.nanoTime() + options.warmup().toNanos();
+        long end = measureStart + options.duration().toNanos();
+
+        ExecutorService workers;
+        if (options.model() == LoadTestOptions.Model.CLOSED) {
+            workers = Executors.newFixedThreadPool(options.concurrency(), daemonThreads("user"));
+            for (int i = 0; i < options.concurrency(); i++) {
+                SplittableRandom random = root.split();
+                workers.submit(() -> virtualUser(random));
+            }
+        } else {
+            workers = Executors.newCachedThreadPool(daemonThreads("session"));
+            SplittableRandom random = root.split();
+            Thread arrivals = daemonThreads("arrivals").newThread(() -> arrivals(random, workers, end));
+            arrivals.start();
+        }
+
+        sleepUntil(measureStart);
+        stats.start();
+        sleepUntil(end);
+        stats.stop();
+        stopping = true;
+
+        // Let sessions in flight finish so their requests don't show up as errors
+        workers.shutdown();
+        if (!workers.awaitTermination(options.timeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            workers.shutdownNow();
+        }
+
+        return report();
+    }
+
+    private void virtualUser(SplittableRandom random) {
+        try {
+            while (!stopping) {
+                long started = System.nanoTime();
+                runSession(random, started);
+                long think = exponential(random, options.thinkTime().toNanos());
+                if (think > 0) TimeUnit.NANOSECONDS.sleep(think);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void arrivals(SplittableRandom random, ExecutorService workers, long end) {
+        AtomicInteger inFlight = new AtomicInteger();
+        double meanGapNanos = 1e9 / options.rate();
+        long next = System.nanoTime();
+        while (!stopping) {
+            next += exponential(random, (long) meanGapNanos);
+            if (next >= end) break;
+            sleepUntil(next);
+            if (inFlight.get() >= options.maxInFlight()) {
+                stats.dropped();
+                continue;
+            }
+            long intended = next;
+            SplittableRandom sessionRandom = random.split();
+            inFlight.incrementAndGet();
+            workers.submit(() -> {
+                try {
+                    runSession(sessionRandom, intended);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private void runSession(SplittableRandom random, long started) throws InterruptedException {
+        long userId = options.userIdFrom() + random.nextLong(options.userIdTo() - options.userIdFrom() + 1);
+        Scenarios.Scenario scenario = mix.pick(random);
+        Session session = new Session(client, options.baseUrl(), options.timeout(), stats, random, userId);
+        scenario.run(session);
+        stats.record(SCENARIO_PREFIX + scenario.name(), System.nanoTime() - started, session.failed());
+    }
+
+    // Exponentially distributed with the given mean; zero mean means no pause
+    private static long exponential(SplittableRandom random, long meanNanos) {
+        if (meanNanos <= 0) return 0;
+        return (long) (-Math.log(1 - random.nextDouble()) * meanNanos);
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private int report() throws IOException {
+        Map<String, LatencyStats.Series> series = stats.snapshot();
+        double seconds = stats.elapsedSeconds();
+
+        System.out.printf("%n%-40s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "", "count", "errors", "per sec", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long requests = 0;
+        long errors = 0;
+        long sessions = 0;
+        List<String> failures = new ArrayList<>();
+        StringBuilder json = new StringBuilder("{\n  \"durationSeconds\": ").append(format(seconds))
+                .append(",\n  \"dropped\": ").append(stats.droppedCount()).append(",\n  \"series\": [");
+
+        boolean first = true;
+        for (Map.Entry<String, LatencyStats.Series> e : series.entrySet()) {
+            String name = e.getKey();
+            Histogram h = e.getValue().histogram();
+            long count = h.getTotalCount();
+            long errorCount = e.getValue().errors();
+            System.out.printf("%-40s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    name, count, errorCount, count / seconds,
+                    millis(h, 50), millis(h, 90), millis(h, 99), millis(h, 99.9), h.getMaxValue() / 1000.0);
+
+            json.append(first ? "\n" : ",\n").append("    {\"name\": \"").append(name)
+                    .append("\", \"count\": ").append(count)
+                    .append(", \"errors\": ").append(errorCount)
+                    .append(", \"perSecond\": ").append(format(count / seconds));
+            for (double p : PERCENTILES) {
+                json.append(", \"p").append(format(p).replace(".", "_")).append("Ms\": ").append(format(millis(h, p)));
+            }
+            json.append(", \"maxMs\": ").append(format(h.getMaxValue() / 1000.0)).append('}');
+            first = false;
+
+            if (name.startsWith(SCENARIO_PREFIX)) {
+                sessions += count;
+            } else {
+                requests += count;
+                errors += errorCount;
+            }
+            // Scenario series count too: in the open model only they include time queued behind a slow server
+            if (options.maxP99Millis() > 0 && millis(h, 99) > options.maxP99Millis()) {
+                failures.add(String.format("%s p99 %.2f ms > %.2f ms", name, millis(h, 99), options.maxP99Millis()));
+            }
+        }
+        json.append("\n  ]\n}\n");
+
+        double errorRate = requests == 0 ? 0 : (double) errors / requests;
+        System.out.printf("%n%d requests, %.1f/s, error rate %.2f%%", requests, requests / seconds, errorRate * 100);
+        long dropped = stats.droppedCount();
+        double dropRate = dropped == 0 ? 0 : (double) dropped / (dropped + sessions);
+        if (options.model() == LoadTestOptions.Model.OPEN) {
+            System.out.printf(", %d arrivals dropped at max-in-flight (%.2f%%)", dropped, dropRate * 100);
+        }
+        System.out.println();
+
+        if (options.maxErrorRate() >= 0 && errorRate > options.maxErrorRate()) {
+            failures.add(String.format("error rate %.4f > %.4f", errorRate, options.maxErrorRate()));
+        }
+        // A dropped arrival is load that was never applied, so the latencies understate the server's
+        if (options.model() == LoadTestOptions.Model.OPEN && options.maxDropRate() >= 0 && dropRate > options.maxDropRate()) {
+            failures.add(String.format("drop rate %.4f > %.4f (%d arrivals dropped at max-in-flight %d)",
+                    dropRate, options.maxDropRate(), dropped, options.maxInFlight()));
+        }
+        if (options.report() != null) {
+            Files.writeString(options.report(), json);
+            System.out.println("Results written to " + options.report());
+        }
+
+        if (!failures.isEmpty()) {
+            failures.forEach(f -> System.out.println("FAIL: " + f));
+            return 1;
+        }
+        return 0;
+    }
+
+    private static double millis(Histogram h, double percentile) {
+        return h.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value).replaceAll("0+$", "").replaceAll("\\.$", "");
+    }
+}
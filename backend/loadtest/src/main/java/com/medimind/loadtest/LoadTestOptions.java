@@ -0,0 +1,123 @@
+package com.medimind.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options, all given as --name=value. Durations take an
+ * ms/s/m suffix ("500ms", "30s", "2m").
+ */
+public record LoadTestOptions(
+        String baseUrl,
+        String scenario,
+        Model model,
+        int concurrency,
+        double rate,
+        int maxInFlight,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        Duration pollInterval,
+        int polls,
+        long userIdFrom,
+        long userIdTo,
+        Duration timeout,
+        long seed,
+        double maxP99Millis,
+        double maxErrorRate,
+        double maxDropRate,
+        Path report
+) {
+
+    /** Closed: a fixed number of virtual users looping with think time. Open: sessions start at a fixed rate. */
+    public enum Model { CLOSED, OPEN }
+
+    public static final String USAGE = """
+            Usage: java -jar loadtest.jar [--name=value ...]
+
+              --base-url=http://localhost:8080   Backend under test
+              --scenario=dashboard               dashboard | medicine | mixed
+              --model=closed                     closed (fixed users) | open (fixed arrival rate)
+              --concurrency=20                   Closed model: virtual users
+              --rate=10                          Open model: sessions started per second (Poisson arrivals)
+              --max-in-flight=1000               Open model: sessions running at once before arrivals are dropped
+              --warmup=10s                       Excluded from the results
+              --duration=60s                     Measured period
+              --think-time=1s                    Mean pause between a virtual user's sessions (exponential)
+              --poll-interval=30s                Medicine page reminder polling interval
+              --polls=3                          Reminder polls per medicine page visit
+              --users=1-1000                     User ids to spread sessions over
+              --timeout=10s                      Per-request timeout
+              --seed=42                          Random seed for user ids, think times and arrivals
+              --max-p99-ms=0                     Fail (exit 1) if any request's or scenario's p99 exceeds this; 0 = off
+              --max-error-rate=-1                Fail (exit 1) if the error ratio exceeds this; negative = off
+              --max-drop-rate=0                  Open model: fail (exit 1) if the ratio of arrivals dropped at
+                                                 max-in-flight exceeds this; negative = off
+              --report=                          Also write the results as JSON to this file
+            """;
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (arg.equals("--help") || arg.equals("-h")) {
+                throw new IllegalArgumentException(USAGE);
+            }
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg + "\n\n" + USAGE);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        String users = values.getOrDefault("users", "1-1000");
+        int dash = users.indexOf('-');
+        long from = Long.parseLong(dash < 0 ? users : users.substring(0, dash));
+        long to = dash < 0 ? from : Long.parseLong(users.substring(dash + 1));
+        if (from < 1 || to < from) throw new IllegalArgumentException("Invalid --users range: " + users);
+
+        String report = values.get("report");
+        LoadTestOptions options = new LoadTestOptions(
+                stripTrailingSlash(values.getOrDefault("base-url", "http://localhost:8080")),
+                values.getOrDefault("scenario", "dashboard"),
+                Model.valueOf(values.getOrDefault("model", "closed").toUpperCase()),
+                Integer.parseInt(values.getOrDefault("concurrency", "20")),
+                Double.parseDouble(values.getOrDefault("rate", "10")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "1000")),
+                duration(values.getOrDefault("warmup", "10s")),
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("think-time", "1s")),
+                duration(values.getOrDefault("poll-interval", "30s")),
+                Integer.parseInt(values.getOrDefault("polls", "3")),
+                from,
+                to,
+                duration(values.getOrDefault("timeout", "10s")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Double.parseDouble(values.getOrDefault("max-p99-ms", "0")),
+                Double.parseDouble(values.getOrDefault("max-error-rate", "-1")),
+                Double.parseDouble(values.getOrDefault("max-drop-rate", "0")),
+                report == null || report.isBlank() ? null : Path.of(report));
+
+        values.keySet().removeAll(Set.of("base-url", "scenario", "model", "concurrency", "rate",
+                "max-in-flight", "warmup", "duration", "think-time", "poll-interval", "polls", "users", "timeout",
+                "seed", "max-p99-ms", "max-error-rate", "max-drop-rate", "report"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown option(s): " + values.keySet() + "\n\n" + USAGE);
+        }
+        return options;
+    }
+
+    static Duration duration(String value) {
+        String v = value.trim().toLowerCase();
+        if (v.endsWith("ms")) return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        if (v.endsWith("s")) return Duration.ofMillis(Math.round(Double.parseDouble(v.substring(0, v.length() - 1)) * 1000));
+        if (v.endsWith("m")) return Duration.ofSeconds(Math.round(Double.parseDouble(v.substring(0, v.length() - 1)) * 60));
+        return Duration.ofMillis(Long.parseLong(v));
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,82 @@
+package com.medimind.loadtest;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * Request sequences recorded from the frontend. Keep these in step with
+ * the pages they mirror when their data loading changes.
+ */
+public final class Scenarios {
+
+    /** A user's visit to one page; latency is recorded for the whole visit as "scenario:&lt;name&gt;". */
+    public interface Scenario {
+        String name();
+
+        void run(Session session) throws InterruptedException;
+    }
+
+    /** Chooses the scenario for each new session. */
+    public interface Mix {
+        Scenario pick(SplittableRandom random);
+    }
+
+    private Scenarios() {
+    }
+
+    public static Mix forName(String name, LoadTestOptions options) {
+        Scenario dashboard = dashboard();
+        Scenario medicine = medicine(options.pollInterval(), options.polls());
+        return switch (name) {
+            case "dashboard" -> random -> dashboard;
+            case "medicine" -> random -> medicine;
+            // Assumed split: most visits land on the dashboard
+            case "mixed" -> random -> random.nextInt(100) < 70 ? dashboard : medicine;
+            default -> throw new IllegalArgumentException("Unknown scenario: " + name + " (dashboard, medicine, mixed)");
+        };
+    }
+
+    /**
+     * Dashboard.tsx on mount: profile, today's calories, medicine summary
+     * and BMI, fetched in parallel.
+     */
+    public static Scenario dashboard() {
+        return new Scenario() {
+            public String name() {
+                return "dashboard";
+            }
+
+            public void run(Session session) {
+                session.getAll(
+                        "/api/user/{id}",
+                        "/api/meals/calories/{id}",
+                        "/api/medicine/summary/{id}",
+                        "/api/user/bmi/{id}");
+            }
+        };
+    }
+
+    /**
+     * MyMedicine.tsx: four parallel fetches on mount, then a reminder poll
+     * every pollInterval (30s in the page) while it stays open.
+     */
+    public static Scenario medicine(Duration pollInterval, int polls) {
+        return new Scenario() {
+            public String name() {
+                return "medicine";
+            }
+
+            public void run(Session session) throws InterruptedException {
+                session.getAll(
+                        "/api/medicine/{id}",
+                        "/api/medicine/today/{id}",
+                        "/api/medicine/summary/{id}",
+                        "/api/medicine/reminders/{id}");
+                for (int i = 0; i < polls; i++) {
+                    session.pause(pollInterval);
+                    session.get("/api/medicine/reminders/{id}");
+                }
+            }
+        };
+    }
+}
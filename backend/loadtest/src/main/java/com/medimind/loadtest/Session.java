@@ -0,0 +1,84 @@
+package com.medimind.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One simulated browser tab acting for one user. Requests are recorded
+ * under their route template ("GET /api/user/{id}") so different users
+ * land in the same series.
+ */
+public class Session {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final LatencyStats stats;
+    private final SplittableRandom random;
+    private final long userId;
+    private final AtomicBoolean failed = new AtomicBoolean();
+
+    Session(HttpClient client, String baseUrl, Duration timeout, LatencyStats stats, SplittableRandom random, long userId) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.stats = stats;
+        this.random = random;
+        this.userId = userId;
+    }
+
+    public long userId() {
+        return userId;
+    }
+
+    public SplittableRandom random() {
+        return random;
+    }
+
+    /** Whether any request in the session failed or returned 4xx/5xx. */
+    public boolean failed() {
+        return failed.get();
+    }
+
+    /** GET one route; {id} in the template is replaced with the session's user id. */
+    public void get(String route) {
+        send(route).join();
+    }
+
+    /** GET several routes at once and wait for all of them, like a page's parallel fetches on mount. */
+    public void getAll(String... routes) {
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(routes.length);
+        for (String route : routes) {
+            inFlight.add(send(route));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+    }
+
+    public void pause(Duration duration) throws InterruptedException {
+        if (!duration.isZero()) Thread.sleep(duration.toMillis());
+    }
+
+    private CompletableFuture<Void> send(String route) {
+        String name = "GET " + route;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + route.replace("{id}", Long.toString(userId))))
+                .timeout(timeout)
+                .GET()
+                .build();
+        long started = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, failure) -> {
+                    boolean error = failure != null || response.statusCode() >= 400;
+                    if (error) failed.set(true);
+                    stats.record(name, System.nanoTime() - started, error);
+                    return null;
+                });
+    }
+}
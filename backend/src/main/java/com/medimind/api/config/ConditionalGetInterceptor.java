@@ -0,0 +1,58 @@
+package com.medimind.api.config;
+
+import com.medimind.api.controller.VersionedResponse;
+import com.medimind.api.service.ResourceVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Conditional GET for handlers annotated with @VersionedResponse. The ETag
+ * comes from the user's resource versions only, so a client that already
+ * has the current data gets its 304 without the handler or any query
+ * running. Responses are private and always revalidated.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final ResourceVersionService resourceVersionService;
+
+    public ConditionalGetInterceptor(ResourceVersionService resourceVersionService) {
+        this.resourceVersionService = resourceVersionService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) return true;
+        VersionedResponse versioned = method.getMethodAnnotation(VersionedResponse.class);
+        if (versioned == null) return true;
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) return true;
+
+        Long userId = userId(request, versioned.userIdVariable());
+        if (userId == null) return true;
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        String etag = resourceVersionService.etag(userId, versioned.daily() ? LocalDate.now() : null, versioned.value());
+        if (etag == null) return true;
+        // Sets the ETag header either way; true means a 304 has been written
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long userId(HttpServletRequest request, String variable) {
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null || variables.get(variable) == null) return null;
+        try {
+            return Long.valueOf(variables.get(variable));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
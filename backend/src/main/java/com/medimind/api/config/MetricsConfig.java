@@ -0,0 +1,72 @@
+package com.medimind.api.config;
+
+import com.medimind.api.service.FuzzySearchService;
+import com.medimind.api.service.JournalSearchIndex;
+import com.medimind.api.service.UserProfileCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the in-process caches under Micrometer's cache.* names
+ * (cache.gets with result=hit|miss, cache.evictions, cache.size), so the
+ * standard cache dashboards and hit-rate queries work against them.
+ * HTTP, scheduled task, executor and Hibernate meters are auto-configured.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder userProfileCacheMetrics(UserProfileCache cache) {
+        return registry -> bindCache(registry, "userProfiles", cache,
+                UserProfileCache::getHitCount, UserProfileCache::getMissCount,
+                UserProfileCache::getEvictionCount, UserProfileCache::getSize);
+    }
+
+    @Bean
+    public MeterBinder journalSearchIndexMetrics(JournalSearchIndex index) {
+        return registry -> bindCache(registry, "journalSearchIndex", index,
+                JournalSearchIndex::getHitCount, JournalSearchIndex::getMissCount,
+                JournalSearchIndex::getEvictionCount, JournalSearchIndex::getSize);
+    }
+
+    @Bean
+    public MeterBinder fuzzyIndexMetrics(FuzzySearchService fuzzySearchService) {
+        return registry -> {
+            bindFuzzy(registry, "fuzzyJournalIndex", fuzzySearchService.getJournalIndexes());
+            bindFuzzy(registry, "fuzzyMealIndex", fuzzySearchService.getMealIndexes());
+        };
+    }
+
+    private static void bindFuzzy(MeterRegistry registry, String name, FuzzySearchService.IndexCache cache) {
+        bindCache(registry, name, cache,
+                FuzzySearchService.IndexCache::getHitCount, FuzzySearchService.IndexCache::getMissCount,
+                FuzzySearchService.IndexCache::getEvictionCount, FuzzySearchService.IndexCache::getSize);
+    }
+
+    private static <C> void bindCache(MeterRegistry registry, String name, C cache,
+                                      ToDoubleFunction<C> hits, ToDoubleFunction<C> misses,
+                                      ToDoubleFunction<C> evictions, ToDoubleFunction<C> size) {
+        FunctionCounter.builder("cache.gets", cache, hits)
+                .tags("cache", name, "result", "hit")
+                .description("The number of times cache lookup methods have returned a cached value")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, misses)
+                .tags("cache", name, "result", "miss")
+                .description("The number of times cache lookup methods had to load a value")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, evictions)
+                .tag("cache", name)
+                .description("The number of entries evicted from the cache")
+                .register(registry);
+        Gauge.builder("cache.size", cache, size)
+                .tag("cache", name)
+                .description("The number of entries in the cache")
+                .register(registry);
+    }
+}
@@ -0,0 +1,86 @@
+package com.medimind.api.config;
+
+import com.medimind.api.controller.RateLimited;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies @RateLimited policies. Each policy gets its own
+ * TokenBucketRateLimiter, built on first use from
+ * medimind.rate-limit.&lt;name&gt;.capacity and .refill-per-minute; a policy
+ * missing from the configuration fails that request rather than going
+ * unthrottled.
+ *
+ * Every request takes a token from its client address's bucket. An
+ * authenticated request also takes one from its user's bucket, so moving
+ * between addresses does not reset a user's limit. Ids sent by the client
+ * are never used as keys: anyone could rotate them to dodge the limit, or
+ * send someone else's to use up theirs.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final int maxKeys;
+    private final Map<String, TokenBucketRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    public RateLimitInterceptor(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.maxKeys = environment.getProperty("medimind.rate-limit.max-keys", Integer.class, 100000);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod method)) return true;
+        RateLimited rateLimited = method.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) return true;
+
+        TokenBucketRateLimiter limiter = limiters.computeIfAbsent(rateLimited.value(), this::createLimiter);
+        long waitNanos = limiter.tryAcquire("a:" + request.getRemoteAddr());
+        Principal user = request.getUserPrincipal();
+        if (waitNanos == 0 && user != null) {
+            waitNanos = limiter.tryAcquire("u:" + user.getName());
+        }
+        if (waitNanos == 0) return true;
+
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests. Please try again in " + seconds + " seconds.\"}");
+        return false;
+    }
+
+    private TokenBucketRateLimiter createLimiter(String policy) {
+        String prefix = "medimind.rate-limit." + policy + ".";
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(policy,
+                environment.getRequiredProperty(prefix + "capacity", Integer.class),
+                environment.getRequiredProperty(prefix + "refill-per-minute", Double.class),
+                maxKeys);
+        Gauge.builder("medimind.rate-limit.keys", limiter, TokenBucketRateLimiter::getKeys)
+                .tag("policy", policy)
+                .description("Clients with a bucket in memory")
+                .register(meterRegistry);
+        FunctionCounter.builder("medimind.rate-limit.rejected", limiter, TokenBucketRateLimiter::getRejected)
+                .tag("policy", policy)
+                .description("Requests answered 429")
+                .register(meterRegistry);
+        return limiter;
+    }
+}
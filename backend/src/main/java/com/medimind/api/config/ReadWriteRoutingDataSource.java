@@ -0,0 +1,81 @@
+package com.medimind.api.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Sends read-only transactions declared by application code to the replica
+ * while it is within the lag limit, and everything else to the primary.
+ *
+ * The read-only transactions Spring Data opens around single repository
+ * calls stay on the primary: controllers often read an entity that way
+ * just before changing and saving it, and a lagging copy would be written
+ * back. Only an explicit @Transactional(readOnly = true) on a controller
+ * or service method opts in.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy, since the read-only
+ * flag is only set once the transaction has begun.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = Logger.getLogger(ReadWriteRoutingDataSource.class.getName());
+
+    enum Target { PRIMARY, REPLICA }
+
+    private static final String REPOSITORY_TRANSACTION_PREFIX = "org.springframework.data.";
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return routesToReplica() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    static boolean isApplicationReadOnlyTransaction() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) return false;
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name == null || !name.startsWith(REPOSITORY_TRANSACTION_PREFIX);
+    }
+
+    private boolean routesToReplica() {
+        return isApplicationReadOnlyTransaction() && lagMonitor.isAvailable();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!routesToReplica()) return primary.getConnection();
+        try {
+            return super.getConnection();
+        } catch (SQLException e) {
+            // Serve the read from the primary and keep off the replica until the next check
+            lagMonitor.markUnavailable(e);
+            logger.fine(() -> "Replica connection failed, reading from primary: " + e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!routesToReplica()) return primary.getConnection(username, password);
+        try {
+            return super.getConnection(username, password);
+        } catch (SQLException e) {
+            lagMonitor.markUnavailable(e);
+            return primary.getConnection(username, password);
+        }
+    }
+}
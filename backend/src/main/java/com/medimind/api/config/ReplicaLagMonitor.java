@@ -0,0 +1,99 @@
+package com.medimind.api.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.logging.Logger;
+
+/**
+ * Polls the replica for its replication lag and decides whether reads may
+ * use it. The replica is only used while the last check succeeded and
+ * the lag is at most maxLag; a failed connection takes it out of
+ * rotation until the next successful check.
+ *
+ * PostgreSQL reports its own lag (zero while the standby has replayed
+ * everything it received). Other databases are only checked for
+ * reachability unless a lag query is configured; it must return the lag
+ * in seconds as a single number.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = Logger.getLogger(ReplicaLagMonitor.class.getName());
+
+    static final String POSTGRES_LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final String configuredLagQuery;
+
+    private volatile boolean available;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, String lagQuery) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.configuredLagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+    }
+
+    public void bindMetrics(MeterRegistry registry) {
+        Gauge.builder("medimind.datasource.replica.lag", this, m -> m.lagSeconds)
+                .baseUnit("seconds")
+                .description("Replication lag last reported by the read replica")
+                .register(registry);
+        Gauge.builder("medimind.datasource.replica.available", this, m -> m.available ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(registry);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Scheduled(fixedDelayString = "${medimind.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        try (Connection connection = replica.getConnection()) {
+            double lag = measureLag(connection);
+            lagSeconds = lag;
+            boolean withinLimit = lag <= maxLag.toMillis() / 1000.0;
+            if (withinLimit != available) {
+                logger.info(withinLimit
+                        ? "Replica in rotation (lag " + lag + "s)"
+                        : "Replica lag " + lag + "s exceeds " + maxLag.toSeconds() + "s, reading from primary");
+            }
+            available = withinLimit;
+        } catch (SQLException e) {
+            markUnavailable(e);
+        }
+    }
+
+    void markUnavailable(SQLException cause) {
+        if (available) {
+            logger.warning("Replica unavailable, reading from primary: " + cause.getMessage());
+        }
+        available = false;
+        lagSeconds = Double.NaN;
+    }
+
+    private double measureLag(Connection connection) throws SQLException {
+        String query = configuredLagQuery;
+        if (query == null && "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+            query = POSTGRES_LAG_QUERY;
+        }
+        if (query == null) {
+            if (!connection.isValid(2)) throw new SQLException("Replica connection is not valid");
+            return 0;
+        }
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(query)) {
+            return rs.next() ? rs.getDouble(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.medimind.api.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * The frontend build, indexed once at startup: every file under the static
+ * location with its ETag and any precompressed .br/.gz siblings written
+ * by the Vite build. Requests are answered from the index, so serving a
+ * file never probes the classpath.
+ */
+public class StaticResourceIndex {
+
+    private static final Logger logger = Logger.getLogger(StaticResourceIndex.class.getName());
+
+    public static final String SPA_ENTRY = "index.html";
+
+    // Preferred first
+    private static final List<String> ENCODINGS = List.of("br", "gzip");
+    private static final Map<String, String> EXTENSIONS = Map.of("br", ".br", "gzip", ".gz");
+
+    private record Entry(Resource resource, String etag, Map<String, Resource> encoded) {}
+
+    private final Map<String, Entry> files;
+
+    private StaticResourceIndex(Map<String, Entry> files) {
+        this.files = files;
+    }
+
+    /** Index everything below location, e.g. "classpath:/static/". */
+    public static StaticResourceIndex scan(String location) {
+        Map<String, Resource> found = new HashMap<>();
+        try {
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+            Resource root = resolver.getResource(location);
+            if (root.exists()) {
+                String base = root.getURL().toString();
+                for (Resource resource : resolver.getResources(location + "**")) {
+                    String url = resource.getURL().toString();
+                    if (url.endsWith("/") || !url.startsWith(base) || !resource.isReadable()) continue;
+                    found.put(url.substring(base.length()), resource);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not index static resources at " + location, e);
+        }
+
+        Map<String, Entry> files = new HashMap<>();
+        int variants = 0;
+        for (Map.Entry<String, Resource> file : found.entrySet()) {
+            String path = file.getKey();
+            if (path.endsWith(".br") || path.endsWith(".gz")) continue;
+            Map<String, Resource> encoded = new HashMap<>();
+            for (String encoding : ENCODINGS) {
+                Resource variant = found.get(path + EXTENSIONS.get(encoding));
+                if (variant != null) encoded.put(encoding, variant);
+            }
+            variants += encoded.size();
+            files.put(path, new Entry(file.getValue(), etag(file.getValue()), Map.copyOf(encoded)));
+        }
+        logger.info("Indexed " + files.size() + " static files (" + variants + " precompressed variants)");
+        return new StaticResourceIndex(files);
+    }
+
+    // Weak: the same tag covers the identity and the encoded representations
+    private static String etag(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            return "W/\"" + DigestUtils.md5DigestAsHex(StreamUtils.copyToByteArray(in)) + "\"";
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + resource, e);
+        }
+    }
+
+    /** For ResourceHandlerRegistration.setEtagGenerator. */
+    @Nullable
+    public static String etagOf(Resource resource) {
+        return resource instanceof IndexedResource indexed ? indexed.etag : null;
+    }
+
+    /**
+     * A resolver for paths below prefix ("" for the root handler). With
+     * spaFallback, paths that are not files get index.html so the client
+     * router can handle them; without it they are left unresolved (404).
+     */
+    public ResourceResolver resolver(String prefix, boolean spaFallback) {
+        return new ResourceResolver() {
+            @Override
+            public Resource resolveResource(@Nullable HttpServletRequest request, String requestPath,
+                                            List<? extends Resource> locations, ResourceResolverChain chain) {
+                Entry entry = files.get(prefix + requestPath);
+                if (entry == null && spaFallback && !requestPath.startsWith("api/")) {
+                    entry = files.get(SPA_ENTRY);
+                }
+                return entry == null ? null : select(entry, request);
+            }
+
+            @Override
+            public String resolveUrlPath(String resourcePath, List<? extends Resource> locations,
+                                         ResourceResolverChain chain) {
+                return files.containsKey(prefix + resourcePath) ? resourcePath : null;
+            }
+        };
+    }
+
+    private static Resource select(Entry entry, @Nullable HttpServletRequest request) {
+        if (entry.encoded().isEmpty()) {
+            return new IndexedResource(entry.resource(), entry.resource(), null, false, entry.etag());
+        }
+        String accepted = request == null ? null : request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (accepted != null) {
+            accepted = accepted.toLowerCase(Locale.ROOT);
+            for (String encoding : ENCODINGS) {
+                Resource variant = entry.encoded().get(encoding);
+                if (variant != null && accepted.contains(encoding)) {
+                    return new IndexedResource(entry.resource(), variant, encoding, true, entry.etag());
+                }
+            }
+        }
+        return new IndexedResource(entry.resource(), entry.resource(), null, true, entry.etag());
+    }
+
+    /**
+     * The file as served: named and typed like the original, with the
+     * content (and length) of the chosen encoding. Files that have
+     * precompressed variants always carry Vary: Accept-Encoding.
+     */
+    static final class IndexedResource extends AbstractResource implements HttpResource {
+
+        private final Resource original;
+        private final Resource served;
+        @Nullable private final String encoding;
+        private final boolean vary;
+        private final String etag;
+
+        IndexedResource(Resource original, Resource served, @Nullable String encoding, boolean vary, String etag) {
+            this.original = original;
+            this.served = served;
+            this.encoding = encoding;
+            this.vary = vary;
+            this.etag = etag;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return served.getInputStream();
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public boolean isReadable() {
+            return true;
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return served.getURL();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return served.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return original.lastModified();
+        }
+
+        @Override
+        public Resource createRelative(String relativePath) throws IOException {
+            return original.createRelative(relativePath);
+        }
+
+        @Override
+        @Nullable
+        public String getFilename() {
+            return original.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return served.getDescription();
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            if (vary) headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (encoding != null) headers.add(HttpHeaders.CONTENT_ENCODING, encoding);
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.medimind.api.config;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-key token buckets: each key may spend up to capacity requests at
+ * once, and regains one every interval.
+ *
+ * A bucket is a single AtomicLong holding the time at which it will be
+ * full again (the GCRA form of a token bucket), updated with one CAS, so
+ * acquiring never takes a lock. Keys are spread over stripes, each a
+ * ConcurrentHashMap with its own size bound. A full bucket is the same as
+ * no bucket, so once a stripe goes over its bound the idle ones are
+ * dropped; if that is not enough, arbitrary ones are dropped too, which
+ * only ever refills them early.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final String name;
+    private final int capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeysPerStripe;
+
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes = new ConcurrentHashMap[STRIPES];
+    private final LongAdder rejected = new LongAdder();
+
+    public TokenBucketRateLimiter(String name, int capacity, double refillPerMinute, int maxKeys) {
+        if (capacity < 1) throw new IllegalArgumentException(name + ": capacity must be at least 1, got " + capacity);
+        if (refillPerMinute <= 0) throw new IllegalArgumentException(name + ": refill-per-minute must be positive, got " + refillPerMinute);
+        this.name = name;
+        this.capacity = capacity;
+        this.intervalNanos = (long) (TimeUnit.MINUTES.toNanos(1) / refillPerMinute);
+        this.burstNanos = intervalNanos * capacity;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Take one token for key. Returns 0 if the request may go ahead, or
+     * else the nanoseconds until a token will be available.
+     */
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    long tryAcquire(String key, long now) {
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        AtomicLong fullAt = stripe.get(key);
+        if (fullAt == null) {
+            // A new key starts full: its first token makes it full again one interval from now
+            AtomicLong fresh = new AtomicLong(now + intervalNanos);
+            fullAt = stripe.putIfAbsent(key, fresh);
+            if (fullAt == null) {
+                if (stripe.size() > maxKeysPerStripe) evict(stripe, now);
+                return 0;
+            }
+        }
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            // Allowed while the bucket would still be full again within capacity intervals
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) return 0;
+        }
+    }
+
+    // Drop idle (full) buckets, then others until the stripe is down to 3/4 of its bound,
+    // so the next sweep is at least a quarter of the bound's inserts away
+    private void evict(ConcurrentHashMap<String, AtomicLong> stripe, long now) {
+        stripe.values().removeIf(fullAt -> fullAt.get() <= now);
+        int excess = stripe.size() - maxKeysPerStripe * 3 / 4;
+        Iterator<AtomicLong> it = stripe.values().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** Keys with a bucket right now (some of which may already be full again). */
+    public int getKeys() {
+        int keys = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            keys += stripe.size();
+        }
+        return keys;
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
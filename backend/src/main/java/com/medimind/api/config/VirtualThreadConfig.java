@@ -0,0 +1,76 @@
+package com.medimind.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Extra wiring for spring.threads.virtual.enabled=true, under which Boot
+ * already runs Tomcat requests, @Async methods and @Scheduled tasks on
+ * virtual threads. Every Hikari pool (the single auto-configured one, or
+ * primary and replica) is put behind a ConnectionLimitingDataSource with
+ * one permit per pooled connection.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger logger = Logger.getLogger(VirtualThreadConfig.class.getName());
+
+    // What Hikari uses when maximum-pool-size is left unset (it only fills it in when the pool starts)
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    // Static: post-processors are created before the rest of the configuration
+    @Bean
+    static BeanPostProcessor connectionLimiter(Environment environment) {
+        int maxWaiting = environment.getProperty("medimind.datasource.limiter.max-waiting", Integer.class, 1000);
+        Duration acquireTimeout = environment.getProperty("medimind.datasource.limiter.acquire-timeout", Duration.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) return bean;
+                // Hikari settings are bound by now; the pool itself starts lazily
+                String name = hikari.getPoolName() != null ? hikari.getPoolName() : beanName;
+                int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+                Duration timeout = acquireTimeout != null ? acquireTimeout : Duration.ofMillis(hikari.getConnectionTimeout());
+                logger.info("Limiting " + name + " to " + poolSize + " concurrent connections ("
+                        + maxWaiting + " waiting, " + timeout.toMillis() + "ms timeout)");
+                return new ConnectionLimitingDataSource(hikari, name, poolSize, maxWaiting, timeout);
+            }
+        };
+    }
+
+    // medimind.datasource.limiter.* tagged pool=<name>, next to Hikari's own hikaricp.* meters
+    @Bean
+    public MeterBinder connectionLimiterMetrics(Map<String, DataSource> dataSources) {
+        return registry -> dataSources.values().forEach(dataSource -> {
+            if (!(dataSource instanceof ConnectionLimitingDataSource limiter)) return;
+            Gauge.builder("medimind.datasource.limiter.permits", limiter, ConnectionLimitingDataSource::getPermits)
+                    .tag("pool", limiter.getName())
+                    .register(registry);
+            Gauge.builder("medimind.datasource.limiter.in.use", limiter, ConnectionLimitingDataSource::getInUse)
+                    .tag("pool", limiter.getName())
+                    .register(registry);
+            Gauge.builder("medimind.datasource.limiter.waiting", limiter, ConnectionLimitingDataSource::getWaiting)
+                    .tag("pool", limiter.getName())
+                    .description("Callers queued for a connection permit")
+                    .register(registry);
+            FunctionCounter.builder("medimind.datasource.limiter.rejected", limiter, ConnectionLimitingDataSource::getRejected)
+                    .tag("pool", limiter.getName())
+                    .description("Callers refused because the queue was full or the wait timed out")
+                    .register(registry);
+        });
+    }
+}
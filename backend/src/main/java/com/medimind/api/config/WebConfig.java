@@ -1,44 +1,70 @@
 package com.medimind.api.config;
 
+import com.medimind.api.service.ResourceVersionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
+import org.springframework.core.env.Environment;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-import org.springframework.web.servlet.resource.PathResourceResolver;
 
-import java.io.IOException;
+import java.time.Duration;
 
 /**
  * Configuration to serve React SPA from Spring Boot
  * All non-API routes are forwarded to index.html for client-side routing
+ *
+ * Files come from an index of the build taken at startup, in the
+ * precompressed encoding the client accepts. Vite's hashed assets/* are
+ * cached for a year as immutable; everything else, index.html included,
+ * is revalidated against its ETag on every use.
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private static final String LOCATION = "classpath:/static/";
+
+    private final StaticResourceIndex staticResources = StaticResourceIndex.scan(LOCATION);
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${medimind.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    // Throttling for endpoints marked @RateLimited, then ETags for those marked @VersionedResponse
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (rateLimitEnabled) {
+            registry.addInterceptor(new RateLimitInterceptor(environment, meterRegistry)).addPathPatterns("/api/**");
+        }
+        registry.addInterceptor(new ConditionalGetInterceptor(resourceVersionService)).addPathPatterns("/api/**");
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // A missing hashed file must 404, never fall back to index.html under an immutable header
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations(LOCATION + "assets/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .resourceChain(false)
+                .addResolver(staticResources.resolver("assets/", false));
+
         registry.addResourceHandler("/**")
-                .addResourceLocations("classpath:/static/")
-                .resourceChain(true)
-                .addResolver(new PathResourceResolver() {
-                    @Override
-                    protected Resource getResource(String resourcePath, Resource location) throws IOException {
-                        Resource requestedResource = location.createRelative(resourcePath);
-                        
-                        // If the resource exists and is readable, serve it
-                        if (requestedResource.exists() && requestedResource.isReadable()) {
-                            return requestedResource;
-                        }
-                        
-                        // Otherwise, serve index.html for SPA routing
-                        // But not for API calls
-                        if (!resourcePath.startsWith("api/")) {
-                            return new ClassPathResource("/static/index.html");
-                        }
-                        
-                        return null;
-                    }
-                });
+                .addResourceLocations(LOCATION)
+                .setCacheControl(CacheControl.noCache())
+                .setUseLastModified(false)
+                .setEtagGenerator(StaticResourceIndex::etagOf)
+                .resourceChain(false)
+                .addResolver(staticResources.resolver("", true));
     }
 }
@@ -1,10 +1,18 @@
 package com.medimind.api.controller;
 
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
 import com.medimind.api.model.User;
+import com.medimind.api.model.UserResponse;
 import com.medimind.api.repository.UserRepository;
+import com.medimind.api.service.AccountAvailabilityService;
+import com.medimind.api.service.DomainValidationService;
 import com.medimind.api.service.EmailService;
+import com.medimind.api.service.GamificationService;
+import com.medimind.api.service.UserProfileCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import java.util.Map;
@@ -17,12 +25,20 @@ import java.util.regex.Pattern;
 public class AuthController {
     @Autowired private UserRepository userRepository;
     @Autowired private EmailService emailService;
+    @Autowired private UserProfileCache userProfileCache;
+    @Autowired private GamificationService gamificationService;
+    @Autowired private AccountAvailabilityService accountAvailabilityService;
+    @Autowired private DomainValidationService domainValidationService;
     
+    // Signup response: the new user's fields plus a message at the top level
+    record Registered(String message, @JsonUnwrapped UserResponse user) {}
+
     private static final Pattern EMAIL_PATTERN = Pattern.compile(
         "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$"
     );
 
     @PostMapping("/register")
+    @RateLimited("register")
     public ResponseEntity<?> register(@Valid @RequestBody User user) {
         Map<String, String> errors = new HashMap<>();
         
@@ -34,6 +50,9 @@ public class AuthController {
         // Validate email format
         if (user.getEmail() == null || !EMAIL_PATTERN.matcher(user.getEmail()).matches()) {
             errors.put("email", "Please provide a valid email address");
+        } else if (!domainValidationService.isValidEmailDomain(user.getEmail())) {
+            // Domain has no mail servers (cached DNS check, fails open if DNS is slow)
+            errors.put("email", "This email domain can't receive email");
         }
         
         // Check username length
@@ -46,13 +65,13 @@ public class AuthController {
             errors.put("password", "Password must be at least 6 characters");
         }
         
-        // Check if username already exists
-        if (user.getUsername() != null && userRepository.findByUsername(user.getUsername()).isPresent()) {
+        // Check if username already exists (case-insensitive)
+        if (user.getUsername() != null && !accountAvailabilityService.isUsernameAvailable(user.getUsername())) {
             errors.put("username", "Username is already taken");
         }
         
-        // Check if email already exists
-        if (user.getEmail() != null && userRepository.findByEmail(user.getEmail()).isPresent()) {
+        // Check if email already exists (case-insensitive)
+        if (user.getEmail() != null && !accountAvailabilityService.isEmailAvailable(user.getEmail())) {
             errors.put("email", "An account with this email already exists");
         }
         
@@ -67,16 +86,43 @@ public class AuthController {
         user.setNotificationsEnabled(true);
         user.setEmailVerified(true); // No verification needed
         
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent signup for the same name
+            return ResponseEntity.badRequest().body(Map.of("error", "Username or email is already taken"));
+        }
+        accountAvailabilityService.userRegistered(savedUser);
+        userProfileCache.put(savedUser);
+        gamificationService.userRegistered(savedUser.getId(), savedUser.getPoints());
         
         // Return success with user data for auto-login
-        Map<String, Object> response = buildUserResponse(savedUser);
-        response.put("message", "Account created successfully!");
+        return ResponseEntity.ok(new Registered("Account created successfully!", UserResponse.from(savedUser)));
+    }
+
+    // Availability check for signup forms; either parameter may be omitted.
+    // Throttled, since it tells anyone whether an account exists
+    @GetMapping("/available")
+    @RateLimited("available")
+    public ResponseEntity<?> checkAvailability(@RequestParam(required = false) String username,
+                                               @RequestParam(required = false) String email) {
+        if (username == null && email == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Provide a username or email to check"));
+        }
         
+        Map<String, Object> response = new HashMap<>();
+        if (username != null) {
+            response.put("username", accountAvailabilityService.isUsernameAvailable(username));
+        }
+        if (email != null) {
+            response.put("email", accountAvailabilityService.isEmailAvailable(email));
+        }
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/login")
+    @RateLimited("login")
     public ResponseEntity<?> login(@RequestBody Map<String, String> data) {
         String identifier = data.get("identifier");
         String password = data.get("password");
@@ -89,7 +135,8 @@ public class AuthController {
             return ResponseEntity.badRequest().body(Map.of("error", "Password is required"));
         }
         
-        var userOpt = userRepository.findByUsernameOrEmail(identifier, identifier);
+        String normalized = AccountAvailabilityService.normalize(identifier);
+        var userOpt = userRepository.findByUsernameNormalizedOrEmailNormalized(normalized, normalized);
         
         if (userOpt.isEmpty()) {
             return ResponseEntity.status(404).body(Map.of(
@@ -105,10 +152,13 @@ public class AuthController {
             ));
         }
         
-        return ResponseEntity.ok(buildUserResponse(user));
+        return ResponseEntity.ok(UserResponse.from(user));
     }
     
+    // The OTP and its email commit together; the email is sent by the outbox, not in this request
     @PostMapping("/forgot-password")
+    @RateLimited("forgot-password")
+    @Transactional
     public ResponseEntity<?> forgotPassword(@RequestBody Map<String, String> data) {
         String email = data.get("email");
         
@@ -116,20 +166,9 @@ public class AuthController {
             return ResponseEntity.badRequest().body(Map.of("error", "Email is required"));
         }
         
-        String emailLower = email.toLowerCase().trim();
-        
-        // Try to find by email first, then by username or email combination
-        var userOpt = userRepository.findByEmail(emailLower);
-        
-        // If not found, try searching with the original case
-        if (userOpt.isEmpty()) {
-            userOpt = userRepository.findByUsernameOrEmail(emailLower, emailLower);
-        }
-        
-        // Also try with original input in case email was stored with different case
-        if (userOpt.isEmpty()) {
-            userOpt = userRepository.findByUsernameOrEmail(email.trim(), email.trim());
-        }
+        // Case-insensitive match on email, or on username as a fallback
+        String normalized = AccountAvailabilityService.normalize(email);
+        var userOpt = userRepository.findByUsernameNormalizedOrEmailNormalized(normalized, normalized);
         
         if (userOpt.isEmpty()) {
             return ResponseEntity.status(404).body(Map.of(
@@ -145,7 +184,7 @@ public class AuthController {
         user.setResetOtpExpiry(System.currentTimeMillis() + 10 * 60 * 1000); // 10 minutes
         userRepository.save(user);
         
-        // Send email to the user's registered email
+        // Queue email to the user's registered email
         boolean emailSent = emailService.sendPasswordResetEmail(user.getEmail(), otp, user.getFullName());
         
         // Log the OTP for development/testing
@@ -177,7 +216,7 @@ public class AuthController {
             return ResponseEntity.badRequest().body(Map.of("error", "Password must be at least 6 characters"));
         }
         
-        var userOpt = userRepository.findByEmail(email.toLowerCase().trim());
+        var userOpt = userRepository.findByEmailNormalized(AccountAvailabilityService.normalize(email));
         
         if (userOpt.isEmpty()) {
             return ResponseEntity.status(404).body(Map.of("error", "Account not found"));
@@ -203,43 +242,4 @@ public class AuthController {
         
         return ResponseEntity.ok(Map.of("message", "Password reset successfully"));
     }
-    
-    private Map<String, Object> buildUserResponse(User user) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("id", user.getId());
-        response.put("fullName", user.getFullName());
-        response.put("username", user.getUsername());
-        response.put("email", user.getEmail());
-        response.put("emailVerified", user.isEmailVerified());
-        response.put("height", user.getHeight());
-        response.put("weight", user.getWeight());
-        response.put("age", user.getAge());
-        response.put("gender", user.getGender());
-        response.put("allergies", user.getAllergies());
-        response.put("conditions", user.getConditions());
-        response.put("targetWeight", user.getTargetWeight());
-        response.put("profilePicture", user.getProfilePicture());
-        response.put("profileIcon", user.getProfileIcon());
-        response.put("notificationSound", user.getNotificationSound());
-        response.put("notificationsEnabled", user.isNotificationsEnabled());
-        response.put("dailyCalorieGoal", user.getDailyCalorieGoal());
-        response.put("waterIntake", user.getWaterIntake());
-        response.put("points", user.getPoints());
-        response.put("level", user.getLevel());
-        response.put("mood", user.getMood());
-        response.put("bmi", user.getBmi());
-        response.put("bmiCategory", user.getBmiCategory());
-        response.put("recommendedCalories", user.getRecommendedCalories());
-        response.put("streak", user.getStreak());
-        response.put("lastClaimDate", user.getLastClaimDate());
-        response.put("totalWaterLogs", user.getTotalWaterLogs());
-        response.put("totalMealsLogged", user.getTotalMealsLogged());
-        response.put("perfectMedicineDays", user.getPerfectMedicineDays());
-        response.put("perfectDays", user.getPerfectDays());
-        response.put("morningLogs", user.getMorningLogs());
-        response.put("eveningLogs", user.getEveningLogs());
-        response.put("journalEntries", user.getJournalEntries());
-        response.put("lastUsernameChange", user.getLastUsernameChange());
-        return response;
-    }
 }
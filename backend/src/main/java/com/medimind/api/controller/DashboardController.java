@@ -0,0 +1,167 @@
+package com.medimind.api.controller;
+
+import com.medimind.api.model.Meal;
+import com.medimind.api.model.Medicine;
+import com.medimind.api.model.UserProfile;
+import com.medimind.api.repository.MedicineRepository;
+import com.medimind.api.repository.UserRepository;
+import com.medimind.api.service.BackgroundTaskService;
+import com.medimind.api.service.MealService;
+import com.medimind.api.service.ResourceVersionService.Resource;
+import com.medimind.api.service.UserProfileCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+/**
+ * Everything the dashboard shows in one request: medicine summary,
+ * adherence, calories and BMI. The user is loaded once and the queries run
+ * side by side on a small pool. Sections still running when the time
+ * budget is used up are left out and named in "missing", so a slow query
+ * delays the dashboard by at most the budget.
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    private static final Logger logger = Logger.getLogger(DashboardController.class.getName());
+
+    @Autowired
+    private MedicineRepository medicineRepository;
+
+    @Autowired
+    private MealService mealService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ExecutorService sectionPool;
+    private final long sectionTimeoutMillis;
+
+    // Read-only, so the section queries go to the replica when there is one
+    private TransactionTemplate readOnly;
+
+    public DashboardController(@Value("${medimind.dashboard.threads:8}") int threads,
+                               @Value("${medimind.dashboard.section-timeout-ms:500}") long sectionTimeoutMillis) {
+        this.sectionPool = Executors.newFixedThreadPool(threads);
+        this.sectionTimeoutMillis = sectionTimeoutMillis;
+    }
+
+    @PostConstruct
+    void init() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        new ExecutorServiceMetrics(sectionPool, "dashboardPool", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sectionPool.shutdownNow();
+    }
+
+    // Get the whole dashboard for a user
+    @GetMapping("/{userId}")
+    @VersionedResponse(value = {Resource.MEDICINES, Resource.MEALS, Resource.PROFILE}, daily = true)
+    public ResponseEntity<?> getDashboard(@PathVariable Long userId, HttpServletResponse response) {
+        Optional<UserProfile> userOpt = userProfileCache.get(userId);
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        UserProfile user = userOpt.get();
+        LocalDate today = LocalDate.now();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMillis);
+
+        // Summary and adherence both come from the active medicines, so they share one query
+        Future<List<Medicine>> medicines = sectionPool.submit(
+                () -> readOnly.execute(status -> medicineRepository.findByUserIdAndActiveTrue(userId)));
+        Future<List<Meal>> meals = sectionPool.submit(
+                () -> mealService.getTodaysMeals(userRepository.getReferenceById(userId)));
+
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        dashboard.put("userId", userId);
+        dashboard.put("bmi", UserController.bmiInfo(user));
+
+        List<Medicine> activeMedicines = await("medicines", medicines, deadline);
+        if (activeMedicines != null) {
+            dashboard.put("medicineSummary", MedicineController.summarize(activeMedicines, today));
+            dashboard.put("adherence", Math.round(BackgroundTaskService.adherence(activeMedicines) * 10.0) / 10.0);
+        } else {
+            missing.add("medicineSummary");
+            missing.add("adherence");
+        }
+
+        List<Meal> todayMeals = await("calories", meals, deadline);
+        if (todayMeals != null) {
+            dashboard.put("calories", MealController.calorieInfo(user, todayMeals));
+        } else {
+            missing.add("calories");
+        }
+
+        dashboard.put("partial", !missing.isEmpty());
+        dashboard.put("missing", missing);
+        if (!missing.isEmpty()) {
+            // Not stored, so its ETag is never sent back and a partial dashboard never earns a 304
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        }
+        return ResponseEntity.ok(dashboard);
+    }
+
+    // The section's result, or null if it failed or is still running at the deadline
+    private <T> T await(String section, Future<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Interrupts the query, or keeps it from starting if it is still queued
+            future.cancel(true);
+            sectionTimeouts(section).increment();
+            logger.warning("Dashboard section " + section + " exceeded " + sectionTimeoutMillis + "ms");
+        } catch (ExecutionException e) {
+            logger.warning("Dashboard section " + section + " failed: " + e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private Counter sectionTimeouts(String section) {
+        return Counter.builder("medimind.dashboard.section.timeouts").tag("section", section).register(meterRegistry);
+    }
+}
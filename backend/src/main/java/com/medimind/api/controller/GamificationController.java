@@ -0,0 +1,70 @@
+package com.medimind.api.controller;
+
+import com.medimind.api.model.UserProfile;
+import com.medimind.api.service.GamificationService;
+import com.medimind.api.service.LeaderboardIndex;
+import com.medimind.api.service.UserProfileCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/gamification")
+@CrossOrigin(origins = "*")
+public class GamificationController {
+
+    @Autowired private GamificationService gamificationService;
+    @Autowired private UserProfileCache userProfileCache;
+
+    // Claim the daily streak bonus
+    @PostMapping("/claim/{userId}")
+    public ResponseEntity<?> claimDaily(@PathVariable Long userId) {
+        return gamificationService.claimDaily(userId)
+                .<ResponseEntity<?>>map(result -> Boolean.TRUE.equals(result.get("claimed"))
+                        ? ResponseEntity.ok(result)
+                        : ResponseEntity.status(409).body(Map.of("error", "Daily bonus already claimed today")))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Top users by points, paged by rank
+    @GetMapping("/leaderboard")
+    public List<Map<String, Object>> getLeaderboard(@RequestParam(defaultValue = "1") long fromRank,
+                                                    @RequestParam(defaultValue = "10") int limit) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (LeaderboardIndex.Entry entry : gamificationService.getLeaderboard(fromRank, Math.min(limit, 100))) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("rank", entry.rank());
+            row.put("userId", entry.userId());
+            row.put("points", entry.points());
+            row.put("level", GamificationService.Level.forPoints(entry.points()).label);
+            row.put("username", userProfileCache.get(entry.userId()).map(UserProfile::username).orElse(null));
+            result.add(row);
+        }
+        return result;
+    }
+
+    // A user's position on the leaderboard
+    @GetMapping("/rank/{userId}")
+    public ResponseEntity<?> getRank(@PathVariable Long userId) {
+        long rank = gamificationService.getRank(userId);
+        if (rank == 0) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of(
+                "userId", userId,
+                "rank", rank,
+                "totalUsers", gamificationService.getRankedUserCount()
+        ));
+    }
+
+    // Achievements the user has unlocked
+    @GetMapping("/achievements/{userId}")
+    public ResponseEntity<?> getAchievements(@PathVariable Long userId) {
+        return ResponseEntity.ok(gamificationService.getAchievements(userId));
+    }
+}
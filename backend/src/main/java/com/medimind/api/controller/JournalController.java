@@ -2,14 +2,28 @@ package com.medimind.api.controller;
 
 import com.medimind.api.model.JournalEntry;
 import com.medimind.api.repository.JournalRepository;
+import com.medimind.api.repository.JournalSummary;
+import com.medimind.api.service.FuzzySearchService;
+import com.medimind.api.service.JournalSearchIndex;
+import com.medimind.api.service.JournalTagService;
+import com.medimind.api.service.MoodAnalyticsService;
+import com.medimind.api.service.ResourceVersionService.Resource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/journal")
@@ -19,18 +33,102 @@ public class JournalController {
     @Autowired
     private JournalRepository journalRepository;
 
-    // Get all journal entries for a user
+    @Autowired
+    private JournalSearchIndex journalSearchIndex;
+
+    @Autowired
+    private JournalTagService journalTagService;
+
+    @Autowired
+    private MoodAnalyticsService moodAnalyticsService;
+
+    @Autowired
+    private FuzzySearchService fuzzySearchService;
+
+    // Get all journal entries for a user, optionally only those with a given tag
     @GetMapping("/{userId}")
-    public List<JournalEntry> getEntries(@PathVariable Long userId) {
+    @VersionedResponse(Resource.JOURNAL)
+    @Transactional(readOnly = true)
+    public List<JournalEntry> getEntries(@PathVariable Long userId, @RequestParam(required = false) String tag) {
+        if (tag != null) {
+            return journalTagService.findTagId(userId, tag)
+                    .map(tagId -> journalRepository.findByTagId(userId, tagId))
+                    .orElse(List.of());
+        }
         return journalRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
 
-    // Create a new journal entry
+    /**
+     * Summaries (no full content) newest first, a page at a time. Pass the
+     * returned nextCursor back as cursor for the following page; it is null
+     * on the last page. The first page also carries the total entry count.
+     */
+    @GetMapping("/summaries/{userId}")
+    @VersionedResponse(Resource.JOURNAL)
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getSummaries(@PathVariable Long userId,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "20") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, 100));
+        // Fetch one extra row to know whether there is another page
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<JournalSummary> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = journalRepository.findSummaries(userId, page);
+        } else {
+            int separator = cursor.lastIndexOf('_');
+            try {
+                LocalDateTime createdAt = LocalDateTime.parse(cursor.substring(0, separator));
+                Long id = Long.parseLong(cursor.substring(separator + 1));
+                rows = journalRepository.findSummariesBefore(userId, createdAt, id, page);
+            } catch (DateTimeParseException | NumberFormatException | IndexOutOfBoundsException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Invalid cursor"));
+            }
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<JournalSummary> entries = hasMore ? rows.subList(0, pageSize) : rows;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("entries", entries);
+        if (hasMore) {
+            JournalSummary last = entries.get(entries.size() - 1);
+            response.put("nextCursor", last.getCreatedAt() + "_" + last.getId());
+        } else {
+            response.put("nextCursor", null);
+        }
+        if (cursor == null || cursor.isEmpty()) {
+            response.put("total", journalRepository.countByUserId(userId));
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    // Get one entry with its full content
+    @GetMapping("/entry/{id}")
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getEntry(@PathVariable Long id) {
+        return journalRepository.findById(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Tag facets: each tag the user has used, with its entry count
+    @GetMapping("/tags/{userId}")
+    public Map<String, Integer> getTags(@PathVariable Long userId) {
+        return journalTagService.getFacets(userId);
+    }
+
+    // Create a new journal entry; the entry and its tags commit together, then the in-memory indexes follow
     @PostMapping("/add")
     public JournalEntry addEntry(@RequestBody JournalEntry entry) {
         entry.setCreatedAt(LocalDateTime.now());
         entry.setUpdatedAt(LocalDateTime.now());
-        return journalRepository.save(entry);
+        JournalEntry saved = journalTagService.save(entry);
+        journalSearchIndex.indexEntry(saved);
+        fuzzySearchService.journalEntrySaved(saved);
+        moodAnalyticsService.journalEntryAdded(saved.getUserId(), saved.getId(), saved.getMood(), saved.getCreatedAt());
+        return saved;
     }
 
     // Update a journal entry
@@ -38,12 +136,19 @@ public class JournalController {
     public ResponseEntity<?> updateEntry(@PathVariable Long id, @RequestBody JournalEntry updatedEntry) {
         return journalRepository.findById(id)
                 .map(entry -> {
+                    String previousMood = MoodAnalyticsService.normalize(entry.getMood());
                     entry.setContent(updatedEntry.getContent());
                     entry.setTitle(updatedEntry.getTitle());
                     entry.setMood(updatedEntry.getMood());
                     entry.setTags(updatedEntry.getTags());
                     entry.setUpdatedAt(LocalDateTime.now());
-                    return ResponseEntity.ok(journalRepository.save(entry));
+                    JournalEntry saved = journalTagService.save(entry);
+                    journalSearchIndex.indexEntry(saved);
+                    fuzzySearchService.journalEntrySaved(saved);
+                    if (!Objects.equals(previousMood, MoodAnalyticsService.normalize(saved.getMood()))) {
+                        moodAnalyticsService.journalMoodChanged(saved.getUserId(), saved.getId(), saved.getMood(), saved.getUpdatedAt());
+                    }
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -51,21 +156,54 @@ public class JournalController {
     // Delete a journal entry
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteEntry(@PathVariable Long id) {
-        if (journalRepository.existsById(id)) {
-            journalRepository.deleteById(id);
-            return ResponseEntity.ok().build();
-        }
-        return ResponseEntity.notFound().build();
+        return journalRepository.findById(id)
+                .map(entry -> {
+                    journalTagService.delete(entry);
+                    journalSearchIndex.removeEntry(entry.getUserId(), entry.getId());
+                    fuzzySearchService.journalEntryDeleted(entry.getUserId(), entry.getId());
+                    return ResponseEntity.ok().build();
+                })
+                .orElse(ResponseEntity.notFound().build());
     }
 
-    // Search entries by keyword
+    // Search entries by keyword, best matches first ("anx*" matches by prefix)
     @GetMapping("/search/{userId}")
-    public List<JournalEntry> searchEntries(@PathVariable Long userId, @RequestParam String keyword) {
-        return journalRepository.searchByKeyword(userId, keyword);
+    public List<JournalEntry> searchEntries(@PathVariable Long userId, @RequestParam String keyword,
+                                            @RequestParam(defaultValue = "50") int limit) {
+        var rankedIds = journalSearchIndex.search(userId, keyword, Math.max(1, Math.min(limit, 200)));
+        if (rankedIds.isEmpty()) {
+            // Nothing indexable in the query (stopwords, punctuation): plain substring match
+            return journalRepository.searchByKeyword(userId, keyword);
+        }
+
+        Map<Long, JournalEntry> byId = journalRepository.findAllById(rankedIds.get()).stream()
+                .collect(Collectors.toMap(JournalEntry::getId, Function.identity()));
+        return rankedIds.get().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // Typo-tolerant search, with a "did you mean" suggestion for unknown words
+    @GetMapping("/fuzzy/{userId}")
+    public Map<String, Object> fuzzySearchEntries(@PathVariable Long userId, @RequestParam String q,
+                                                  @RequestParam(defaultValue = "0.3") double threshold,
+                                                  @RequestParam(defaultValue = "20") int limit) {
+        var result = fuzzySearchService.searchJournal(userId, q,
+                Math.max(0.1, Math.min(threshold, 1.0)), Math.max(1, Math.min(limit, 100)));
+        Map<Long, JournalEntry> byId = journalRepository.findAllById(result.ids()).stream()
+                .collect(Collectors.toMap(JournalEntry::getId, Function.identity()));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("entries", result.ids().stream().map(byId::get).filter(Objects::nonNull).toList());
+        response.put("didYouMean", result.didYouMean().orElse(null));
+        return response;
     }
 
     // Search entries by date
     @GetMapping("/date/{userId}")
+    @VersionedResponse(Resource.JOURNAL)
+    @Transactional(readOnly = true)
     public List<JournalEntry> getEntriesByDate(@PathVariable Long userId, @RequestParam String date) {
         LocalDate localDate = LocalDate.parse(date);
         LocalDateTime startOfDay = localDate.atStartOfDay();
@@ -1,14 +1,20 @@
 package com.medimind.api.controller;
 
 import com.medimind.api.model.Meal;
+import com.medimind.api.model.SuggestedMeal;
 import com.medimind.api.model.User;
+import com.medimind.api.model.UserProfile;
 import com.medimind.api.repository.UserRepository;
+import com.medimind.api.service.FuzzySearchService;
 import com.medimind.api.service.MealService;
 import com.medimind.api.service.MealSuggestionService;
+import com.medimind.api.service.ResourceVersionService.Resource;
+import com.medimind.api.service.UserProfileCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -27,6 +33,12 @@ public class MealController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Autowired
+    private FuzzySearchService fuzzySearchService;
+
     public static class MealRequest {
         private String mealType;
         private String foodItems;
@@ -50,8 +62,11 @@ public class MealController {
     @PostMapping("/log")
     public ResponseEntity<?> logMeal(@RequestBody MealRequest request, @RequestParam Long userId) {
         try {
-            User user = new User();
-            user.setId(userId);
+            if (userProfileCache.get(userId).isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            // Reference only - the meal row just needs the user id
+            User user = userRepository.getReferenceById(userId);
 
             Meal meal = new Meal();
             meal.setMealType(request.getMealType());
@@ -75,7 +90,7 @@ public class MealController {
     }
 
     // Calculate estimated calories from food items string
-    private int calculateCalories(String foodItems) {
+    static int calculateCalories(String foodItems) {
         if (foodItems == null || foodItems.trim().isEmpty()) {
             return 0;
         }
@@ -134,17 +149,29 @@ public class MealController {
 
     // READ - Get meal history for user
     @GetMapping("/history/{userId}")
+    @VersionedResponse(Resource.MEALS)
     public ResponseEntity<List<Meal>> getMealHistory(@PathVariable Long userId) {
         try {
-            User user = new User();
-            user.setId(userId);
-            List<Meal> meals = mealService.getMealHistory(user);
+            List<Meal> meals = mealService.getMealHistory(userRepository.getReferenceById(userId));
             return ResponseEntity.ok(meals);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(null);
         }
     }
 
+    // SEARCH - Typo-tolerant search over a user's logged food items
+    @GetMapping("/fuzzy/{userId}")
+    public ResponseEntity<?> fuzzySearchMeals(@PathVariable Long userId, @RequestParam String q,
+                                              @RequestParam(defaultValue = "0.3") double threshold,
+                                              @RequestParam(defaultValue = "20") int limit) {
+        var result = fuzzySearchService.searchMeals(userId, q,
+                Math.max(0.1, Math.min(threshold, 1.0)), Math.max(1, Math.min(limit, 100)));
+        Map<String, Object> response = new HashMap<>();
+        response.put("meals", mealService.getMealsByIds(result.ids()));
+        response.put("didYouMean", result.didYouMean().orElse(null));
+        return ResponseEntity.ok(response);
+    }
+
     // READ - Get single meal by ID
     @GetMapping("/{mealId}")
     public ResponseEntity<?> getMealById(@PathVariable Long mealId) {
@@ -223,16 +250,17 @@ public class MealController {
 
     // SUGGESTIONS - Get smart meal recommendations
     @PostMapping("/suggestions/recommended")
+    @RateLimited("meal-suggestions")
     public ResponseEntity<?> getRecommendedMeals(
             @RequestParam Long userId,
             @RequestBody Map<String, List<String>> preferences) {
         try {
-            Optional<User> userOpt = userRepository.findById(userId);
+            Optional<UserProfile> userOpt = userProfileCache.get(userId);
             if (!userOpt.isPresent()) {
                 return ResponseEntity.notFound().build();
             }
 
-            User user = userOpt.get();
+            UserProfile user = userOpt.get();
             List<String> foodItems = preferences.getOrDefault("foodItems", List.of());
             List<String> cuisines = preferences.getOrDefault("cuisines", List.of());
 
@@ -240,7 +268,7 @@ public class MealController {
                 return ResponseEntity.badRequest().body("At least one food item must be selected");
             }
 
-            List<Map<String, Object>> suggestions = mealSuggestionService.getSuggestedMeals(user, foodItems, cuisines);
+            List<SuggestedMeal> suggestions = mealSuggestionService.getSuggestedMeals(user, foodItems, cuisines);
             return ResponseEntity.ok(suggestions);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -253,12 +281,11 @@ public class MealController {
             @RequestParam Long userId,
             @RequestParam String mealName) {
         try {
-            Optional<User> userOpt = userRepository.findById(userId);
-            if (!userOpt.isPresent()) {
+            if (userProfileCache.get(userId).isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
 
-            User user = userOpt.get();
+            User user = userRepository.getReferenceById(userId);
             Meal meal = mealSuggestionService.createMealFromSuggestion(mealName, "Selected", user);
             
             if (meal == null) {
@@ -274,45 +301,48 @@ public class MealController {
 
     // Get calorie info for user
     @GetMapping("/calories/{userId}")
+    @VersionedResponse(value = {Resource.MEALS, Resource.PROFILE}, daily = true)
     public ResponseEntity<?> getCalorieInfo(@PathVariable Long userId) {
         try {
-            Optional<User> userOpt = userRepository.findById(userId);
+            Optional<UserProfile> userOpt = userProfileCache.get(userId);
             if (!userOpt.isPresent()) {
                 return ResponseEntity.notFound().build();
             }
             
-            User user = userOpt.get();
-            List<Meal> todayMeals = mealService.getTodaysMeals(user);
-            
-            // Estimate calories based on food items (simple estimation)
-            int consumed = 0;
-            for (Meal meal : todayMeals) {
-                consumed += estimateMealCalories(meal);
-            }
-            
-            int goal = user.getRecommendedCalories();
-            if (goal <= 0) goal = user.getDailyCalorieGoal();
-            if (goal <= 0) goal = 2000;
-            
-            Map<String, Object> calorieInfo = new java.util.HashMap<>();
-            calorieInfo.put("consumed", consumed);
-            calorieInfo.put("remaining", Math.max(0, goal - consumed));
-            calorieInfo.put("goal", goal);
-            calorieInfo.put("meals", todayMeals.stream().map(m -> {
-                Map<String, Object> mealInfo = new java.util.HashMap<>();
-                mealInfo.put("name", m.getMealType() + ": " + m.getFoodItems());
-                mealInfo.put("calories", estimateMealCalories(m));
-                mealInfo.put("time", m.getLoggedAt() != null ? m.getLoggedAt().toString() : "");
-                return mealInfo;
-            }).collect(java.util.stream.Collectors.toList()));
-            
-            return ResponseEntity.ok(calorieInfo);
+            List<Meal> todayMeals = mealService.getTodaysMeals(userRepository.getReferenceById(userId));
+            return ResponseEntity.ok(calorieInfo(userOpt.get(), todayMeals));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
     
-    private int estimateMealCalories(Meal meal) {
+    // Today's intake against the user's goal; also used by the dashboard
+    static Map<String, Object> calorieInfo(UserProfile user, List<Meal> todayMeals) {
+        // Estimate calories based on food items (simple estimation)
+        int consumed = 0;
+        for (Meal meal : todayMeals) {
+            consumed += estimateMealCalories(meal);
+        }
+        
+        int goal = user.recommendedCalories();
+        if (goal <= 0) goal = user.dailyCalorieGoal();
+        if (goal <= 0) goal = 2000;
+        
+        Map<String, Object> calorieInfo = new java.util.HashMap<>();
+        calorieInfo.put("consumed", consumed);
+        calorieInfo.put("remaining", Math.max(0, goal - consumed));
+        calorieInfo.put("goal", goal);
+        calorieInfo.put("meals", todayMeals.stream().map(m -> {
+            Map<String, Object> mealInfo = new java.util.HashMap<>();
+            mealInfo.put("name", m.getMealType() + ": " + m.getFoodItems());
+            mealInfo.put("calories", estimateMealCalories(m));
+            mealInfo.put("time", m.getLoggedAt() != null ? m.getLoggedAt().toString() : "");
+            return mealInfo;
+        }).collect(java.util.stream.Collectors.toList()));
+        return calorieInfo;
+    }
+    
+    private static int estimateMealCalories(Meal meal) {
         // Simple calorie estimation based on meal type and food count
         String mealType = meal.getMealType() != null ? meal.getMealType().toLowerCase() : "";
         String foodItems = meal.getFoodItems() != null ? meal.getFoodItems() : "";
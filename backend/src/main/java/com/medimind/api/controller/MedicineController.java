@@ -1,10 +1,13 @@
 package com.medimind.api.controller;
 
 import com.medimind.api.model.Medicine;
+import com.medimind.api.model.TodaysDose;
 import com.medimind.api.repository.MedicineRepository;
+import com.medimind.api.service.ResourceVersionService.Resource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
@@ -23,16 +26,23 @@ public class MedicineController {
 
     // Get all medicines for a user
     @GetMapping("/{userId}")
+    @VersionedResponse(Resource.MEDICINES)
+    @Transactional(readOnly = true)
     public List<Medicine> getMedicines(@PathVariable Long userId) {
         return medicineRepository.findByUserId(userId);
     }
 
     // Get active medicines for today
     @GetMapping("/today/{userId}")
-    public List<Map<String, Object>> getTodaysMedicines(@PathVariable Long userId) {
-        List<Medicine> medicines = medicineRepository.findByUserIdAndActiveTrue(userId);
-        LocalDate today = LocalDate.now();
-        List<Map<String, Object>> todayList = new ArrayList<>();
+    @VersionedResponse(value = Resource.MEDICINES, daily = true)
+    @Transactional(readOnly = true)
+    public List<TodaysDose> getTodaysMedicines(@PathVariable Long userId) {
+        return expandTodaysDoses(medicineRepository.findByUserIdAndActiveTrue(userId), LocalDate.now());
+    }
+
+    // One entry per scheduled dose of each medicine running today, sorted by time
+    static List<TodaysDose> expandTodaysDoses(List<Medicine> medicines, LocalDate today) {
+        List<TodaysDose> todayList = new ArrayList<>();
         
         for (Medicine med : medicines) {
             if (med.getStartDate() != null && today.isBefore(med.getStartDate())) continue;
@@ -45,56 +55,40 @@ public class MedicineController {
             }
             
             // Add time slots as separate entries
-            if (med.getTime1() != null && !med.getTime1().isEmpty()) {
-                Map<String, Object> entry = new HashMap<>();
-                entry.put("medicineId", med.getId());
-                entry.put("medicineName", med.getName());
-                entry.put("dosage", med.getDosage() != null ? med.getDosage() : "");
-                entry.put("slot", 1);
-                entry.put("time", med.getTime1());
-                entry.put("taken", med.isTime1Taken());
-                entry.put("daysRemaining", Math.max(0, daysRemaining));
-                entry.put("takenAt", med.isTime1Taken() && med.getLastTakenAt() != null ? med.getLastTakenAt().toString() : null);
-                todayList.add(entry);
-            }
-            if (med.getTime2() != null && !med.getTime2().isEmpty()) {
-                Map<String, Object> entry = new HashMap<>();
-                entry.put("medicineId", med.getId());
-                entry.put("medicineName", med.getName());
-                entry.put("dosage", med.getDosage() != null ? med.getDosage() : "");
-                entry.put("slot", 2);
-                entry.put("time", med.getTime2());
-                entry.put("taken", med.isTime2Taken());
-                entry.put("daysRemaining", Math.max(0, daysRemaining));
-                entry.put("takenAt", med.isTime2Taken() && med.getLastTakenAt() != null ? med.getLastTakenAt().toString() : null);
-                todayList.add(entry);
-            }
-            if (med.getTime3() != null && !med.getTime3().isEmpty()) {
-                Map<String, Object> entry = new HashMap<>();
-                entry.put("medicineId", med.getId());
-                entry.put("medicineName", med.getName());
-                entry.put("dosage", med.getDosage() != null ? med.getDosage() : "");
-                entry.put("slot", 3);
-                entry.put("time", med.getTime3());
-                entry.put("taken", med.isTime3Taken());
-                entry.put("daysRemaining", Math.max(0, daysRemaining));
-                entry.put("takenAt", med.isTime3Taken() && med.getLastTakenAt() != null ? med.getLastTakenAt().toString() : null);
-                todayList.add(entry);
-            }
+            addDose(todayList, med, 1, med.getTime1(), med.isTime1Taken(), daysRemaining);
+            addDose(todayList, med, 2, med.getTime2(), med.isTime2Taken(), daysRemaining);
+            addDose(todayList, med, 3, med.getTime3(), med.isTime3Taken(), daysRemaining);
         }
         
         // Sort by time
-        todayList.sort((a, b) -> ((String) a.get("time")).compareTo((String) b.get("time")));
+        todayList.sort(Comparator.comparing(TodaysDose::time));
         
         return todayList;
     }
 
+    private static void addDose(List<TodaysDose> todayList, Medicine med, int slot, String time, boolean taken, long daysRemaining) {
+        if (time == null || time.isEmpty()) return;
+        todayList.add(new TodaysDose(
+                med.getId(),
+                med.getName(),
+                med.getDosage() != null ? med.getDosage() : "",
+                slot,
+                time,
+                taken,
+                Math.max(0, daysRemaining),
+                taken && med.getLastTakenAt() != null ? med.getLastTakenAt().toString() : null));
+    }
+
     // Get medicine intake summary for today
     @GetMapping("/summary/{userId}")
+    @VersionedResponse(value = Resource.MEDICINES, daily = true)
+    @Transactional(readOnly = true)
     public Map<String, Object> getMedicineSummary(@PathVariable Long userId) {
-        List<Medicine> medicines = medicineRepository.findByUserIdAndActiveTrue(userId);
-        LocalDate today = LocalDate.now();
-        
+        return summarize(medicineRepository.findByUserIdAndActiveTrue(userId), LocalDate.now());
+    }
+
+    // Dose counts over the active medicines running today; also used by the dashboard
+    static Map<String, Object> summarize(List<Medicine> medicines, LocalDate today) {
         int totalDoses = 0;
         int takenDoses = 0;
         
@@ -235,6 +229,8 @@ public class MedicineController {
 
     // Get upcoming reminders
     @GetMapping("/reminders/{userId}")
+    @VersionedResponse(value = Resource.MEDICINES, daily = true)
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getUpcomingReminders(@PathVariable Long userId) {
         List<Medicine> medicines = medicineRepository.findByUserIdAndActiveTrue(userId);
         LocalDate today = LocalDate.now();
@@ -0,0 +1,67 @@
+package com.medimind.api.controller;
+
+import com.medimind.api.model.MoodRollup.Period;
+import com.medimind.api.service.MoodAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/mood")
+@CrossOrigin(origins = "*")
+public class MoodController {
+
+    private static final long MAX_RANGE_DAYS = 731;
+
+    @Autowired private MoodAnalyticsService moodAnalyticsService;
+
+    // Mood and journaling trend over a date range (default: the last 30 days, by day)
+    @GetMapping("/{userId}")
+    public ResponseEntity<?> getTrend(@PathVariable Long userId,
+                                      @RequestParam(required = false) String from,
+                                      @RequestParam(required = false) String to,
+                                      @RequestParam(defaultValue = "DAY") String period) {
+        LocalDate[] range = parseRange(from, to);
+        if (range == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid date range (yyyy-MM-dd, at most " + MAX_RANGE_DAYS + " days)"));
+        }
+        Period p;
+        try {
+            p = Period.valueOf(period.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Period must be DAY or WEEK"));
+        }
+        return ResponseEntity.ok(moodAnalyticsService.getTrend(userId, p, range[0], range[1]));
+    }
+
+    // Individual mood observations over a date range
+    @GetMapping("/{userId}/observations")
+    public ResponseEntity<?> getObservations(@PathVariable Long userId,
+                                             @RequestParam(required = false) String from,
+                                             @RequestParam(required = false) String to) {
+        LocalDate[] range = parseRange(from, to);
+        if (range == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid date range (yyyy-MM-dd, at most " + MAX_RANGE_DAYS + " days)"));
+        }
+        return ResponseEntity.ok(moodAnalyticsService.getObservations(
+                userId, range[0].atStartOfDay(), range[1].atTime(LocalTime.MAX)));
+    }
+
+    // [from, to], or null if unparseable, reversed or too long
+    private static LocalDate[] parseRange(String from, String to) {
+        try {
+            LocalDate end = to != null ? LocalDate.parse(to) : LocalDate.now();
+            LocalDate start = from != null ? LocalDate.parse(from) : end.minusDays(29);
+            if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) return null;
+            return new LocalDate[] { start, end };
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
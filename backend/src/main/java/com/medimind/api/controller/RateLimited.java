@@ -0,0 +1,20 @@
+package com.medimind.api.controller;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Throttles an endpoint with a token-bucket policy configured under
+ * medimind.rate-limit.&lt;name&gt;.*. RateLimitInterceptor keeps one bucket per
+ * client address, plus one per user for authenticated requests; a request
+ * over either limit gets 429 with Retry-After before the handler runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    /** Policy name, e.g. "login" for medimind.rate-limit.login.*. */
+    String value();
+}
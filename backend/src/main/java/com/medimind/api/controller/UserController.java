@@ -1,13 +1,36 @@
 package com.medimind.api.controller;
 
 import com.medimind.api.model.User;
+import com.medimind.api.model.UserProfile;
+import com.medimind.api.model.UserResponse;
 import com.medimind.api.repository.UserRepository;
+import com.medimind.api.service.AccountAvailabilityService;
+import com.medimind.api.service.ActivityCounterService;
+import com.medimind.api.service.ActivityCounterService.Counter;
+import com.medimind.api.service.GamificationService;
+import com.medimind.api.service.MoodAnalyticsService;
+import com.medimind.api.service.ResourceVersionService.Resource;
+import com.medimind.api.service.UserExportService;
+import com.medimind.api.service.UserProfileCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/user")
@@ -15,54 +38,49 @@ import java.util.Map;
 public class UserController {
 
     @Autowired private UserRepository userRepository;
+    @Autowired private ActivityCounterService activityCounterService;
+    @Autowired private UserProfileCache userProfileCache;
+    @Autowired private GamificationService gamificationService;
+    @Autowired private AccountAvailabilityService accountAvailabilityService;
+    @Autowired private MoodAnalyticsService moodAnalyticsService;
+    @Autowired private UserExportService userExportService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public UserController(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @GetMapping("/{id}")
+    @VersionedResponse(value = Resource.PROFILE, userIdVariable = "id")
     public ResponseEntity<?> getUser(@PathVariable Long id) {
+        activityCounterService.flush(id);
         return userRepository.findById(id)
-                .map(user -> {
-                    Map<String, Object> response = new HashMap<>();
-                    response.put("id", user.getId());
-                    response.put("fullName", user.getFullName());
-                    response.put("username", user.getUsername());
-                    response.put("email", user.getEmail());
-                    response.put("height", user.getHeight());
-                    response.put("weight", user.getWeight());
-                    response.put("age", user.getAge());
-                    response.put("gender", user.getGender());
-                    response.put("allergies", user.getAllergies());
-                    response.put("conditions", user.getConditions());
-                    response.put("targetWeight", user.getTargetWeight());
-                    response.put("profilePicture", user.getProfilePicture());
-                    response.put("profileIcon", user.getProfileIcon());
-                    response.put("notificationSound", user.getNotificationSound());
-                    response.put("notificationsEnabled", user.isNotificationsEnabled());
-                    response.put("dailyCalorieGoal", user.getDailyCalorieGoal());
-                    response.put("waterIntake", user.getWaterIntake());
-                    response.put("points", user.getPoints());
-                    response.put("level", user.getLevel());
-                    response.put("mood", user.getMood());
-                    response.put("bmi", user.getBmi());
-                    response.put("bmiCategory", user.getBmiCategory());
-                    response.put("recommendedCalories", user.getRecommendedCalories());
-                    response.put("streak", user.getStreak());
-                    response.put("lastClaimDate", user.getLastClaimDate());
-                    response.put("totalWaterLogs", user.getTotalWaterLogs());
-                    response.put("totalMealsLogged", user.getTotalMealsLogged());
-                    response.put("perfectMedicineDays", user.getPerfectMedicineDays());
-                    response.put("perfectDays", user.getPerfectDays());
-                    response.put("morningLogs", user.getMorningLogs());
-                    response.put("eveningLogs", user.getEveningLogs());
-                    response.put("journalEntries", user.getJournalEntries());
-                    response.put("lastUsernameChange", user.getLastUsernameChange());
-                    return ResponseEntity.ok(response);
-                })
+                .<ResponseEntity<?>>map(user -> ResponseEntity.ok(UserResponse.from(user)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Download everything stored for a user as a ZIP, streamed as it is read
+    @GetMapping("/{id}/export")
+    public ResponseEntity<StreamingResponseBody> exportUser(@PathVariable Long id) {
+        if (!userExportService.userExists(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        StreamingResponseBody body = out -> userExportService.writeExport(id, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"medimind-export-" + id + ".zip\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(body);
+    }
+
     @PutMapping("/update")
     public ResponseEntity<?> updateUser(@RequestBody User updatedUser) {
+        activityCounterService.flush(updatedUser.getId());
         return userRepository.findById(updatedUser.getId())
-                .map(existing -> {
+                .<ResponseEntity<?>>map(existing -> {
+                    String previousEmail = existing.getEmail();
+                    String previousMood = existing.getMood();
+                    
                     // Update basic info
                     if (updatedUser.getFullName() != null) existing.setFullName(updatedUser.getFullName());
                     if (updatedUser.getHeight() > 0) existing.setHeight(updatedUser.getHeight());
@@ -75,26 +93,15 @@ public class UserController {
                     existing.setAllergies(updatedUser.getAllergies());
                     existing.setConditions(updatedUser.getConditions());
                     existing.setMood(updatedUser.getMood());
-                    existing.setWaterIntake(updatedUser.getWaterIntake());
                     
-                    // Update streak and achievement tracking
-                    if (updatedUser.getStreak() >= 0) existing.setStreak(updatedUser.getStreak());
-                    if (updatedUser.getLastClaimDate() != null) existing.setLastClaimDate(updatedUser.getLastClaimDate());
-                    if (updatedUser.getPoints() > 0) existing.setPoints(updatedUser.getPoints());
-                    if (updatedUser.getLevel() != null) existing.setLevel(updatedUser.getLevel());
-                    
-                    // Update achievement tracking fields - only update if new value is greater (incremental tracking)
-                    // This prevents resetting achievements when other components update user without sending these fields
-                    if (updatedUser.getTotalWaterLogs() > existing.getTotalWaterLogs()) existing.setTotalWaterLogs(updatedUser.getTotalWaterLogs());
-                    if (updatedUser.getTotalMealsLogged() > existing.getTotalMealsLogged()) existing.setTotalMealsLogged(updatedUser.getTotalMealsLogged());
-                    if (updatedUser.getPerfectMedicineDays() > existing.getPerfectMedicineDays()) existing.setPerfectMedicineDays(updatedUser.getPerfectMedicineDays());
-                    if (updatedUser.getPerfectDays() > existing.getPerfectDays()) existing.setPerfectDays(updatedUser.getPerfectDays());
-                    if (updatedUser.getMorningLogs() > existing.getMorningLogs()) existing.setMorningLogs(updatedUser.getMorningLogs());
-                    if (updatedUser.getEveningLogs() > existing.getEveningLogs()) existing.setEveningLogs(updatedUser.getEveningLogs());
-                    if (updatedUser.getJournalEntries() > existing.getJournalEntries()) existing.setJournalEntries(updatedUser.getJournalEntries());
+                    // Points, level and streak are owned by GamificationService, and water intake
+                    // and the achievement counters by ActivityCounterService; values sent here are ignored
                     
                     // Update email if provided
                     if (updatedUser.getEmail() != null && !updatedUser.getEmail().isEmpty()) {
+                        if (!isEmailAvailableTo(existing, updatedUser.getEmail())) {
+                            return emailTaken();
+                        }
                         existing.setEmail(updatedUser.getEmail());
                     }
                     
@@ -107,49 +114,294 @@ public class UserController {
                     // Update daily goals
                     if (updatedUser.getDailyCalorieGoal() > 0) existing.setDailyCalorieGoal(updatedUser.getDailyCalorieGoal());
                     
-                    User saved = userRepository.save(existing);
+                    User saved;
+                    try {
+                        saved = userRepository.save(existing);
+                    } catch (DataIntegrityViolationException e) {
+                        // Lost a race with another account taking the same email
+                        return emailTaken();
+                    }
+                    cacheAfterCommit(saved);
+                    if (!saved.getEmail().equals(previousEmail)) {
+                        accountAvailabilityService.emailChanged(previousEmail, saved.getEmail());
+                    }
+                    if (!Objects.equals(saved.getMood(), previousMood)) {
+                        moodAnalyticsService.moodCheckedIn(saved.getId(), saved.getMood());
+                    }
                     
                     // Return with calculated fields
-                    Map<String, Object> response = new HashMap<>();
-                    response.put("id", saved.getId());
-                    response.put("fullName", saved.getFullName());
-                    response.put("username", saved.getUsername());
-                    response.put("email", saved.getEmail());
-                    response.put("height", saved.getHeight());
-                    response.put("weight", saved.getWeight());
-                    response.put("age", saved.getAge());
-                    response.put("gender", saved.getGender());
-                    response.put("allergies", saved.getAllergies());
-                    response.put("conditions", saved.getConditions());
-                    response.put("targetWeight", saved.getTargetWeight());
-                    response.put("profilePicture", saved.getProfilePicture());
-                    response.put("profileIcon", saved.getProfileIcon());
-                    response.put("notificationSound", saved.getNotificationSound());
-                    response.put("notificationsEnabled", saved.isNotificationsEnabled());
-                    response.put("dailyCalorieGoal", saved.getDailyCalorieGoal());
-                    response.put("waterIntake", saved.getWaterIntake());
-                    response.put("points", saved.getPoints());
-                    response.put("level", saved.getLevel());
-                    response.put("mood", saved.getMood());
-                    response.put("bmi", saved.getBmi());
-                    response.put("bmiCategory", saved.getBmiCategory());
-                    response.put("recommendedCalories", saved.getRecommendedCalories());
-                    response.put("streak", saved.getStreak());
-                    response.put("lastClaimDate", saved.getLastClaimDate());
-                    response.put("totalWaterLogs", saved.getTotalWaterLogs());
-                    response.put("totalMealsLogged", saved.getTotalMealsLogged());
-                    response.put("perfectMedicineDays", saved.getPerfectMedicineDays());
-                    response.put("perfectDays", saved.getPerfectDays());
-                    response.put("morningLogs", saved.getMorningLogs());
-                    response.put("eveningLogs", saved.getEveningLogs());
-                    response.put("journalEntries", saved.getJournalEntries());
-                    response.put("lastUsernameChange", saved.getLastUsernameChange());
-                    
-                    return ResponseEntity.ok(response);
+                    return ResponseEntity.ok(UserResponse.from(saved));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Partial update: only the fields present in the body are applied.
+     * Relies on dirty checking (User is @DynamicUpdate) so the UPDATE touches
+     * just the changed columns, and returns only the fields that changed.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchUser(@PathVariable Long id, @RequestBody Map<String, Object> changes) {
+        // Before the transaction: a flushed counter entry is gone, so its UPDATE must not roll back with a rejected patch
+        activityCounterService.flush(id);
+        try {
+            return patchInTransaction(id, changes);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with another account taking the same email
+            return emailTaken();
+        }
+    }
+
+    private ResponseEntity<?> patchInTransaction(Long id, Map<String, Object> changes) {
+        return transactionTemplate.<ResponseEntity<?>>execute(status -> {
+            var userOpt = userRepository.findById(id);
+
+            if (userOpt.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            User user = userOpt.get();
+            Map<String, Object> delta = new LinkedHashMap<>();
+            List<String> rejected = new ArrayList<>();
+            boolean emailTaken = false;
+
+            for (Map.Entry<String, Object> change : changes.entrySet()) {
+                try {
+                    Object applied = applyField(user, change.getKey(), change.getValue());
+                    if (applied == TAKEN) {
+                        emailTaken = true;
+                    } else if (applied == REJECTED) {
+                        rejected.add(change.getKey());
+                    } else if (applied != UNCHANGED) {
+                        delta.put(change.getKey(), applied);
+                    }
+                } catch (RuntimeException e) {
+                    rejected.add(change.getKey());
+                }
+            }
+
+            if (!rejected.isEmpty()) {
+                // Nothing is flushed for a rejected request
+                status.setRollbackOnly();
+                return ResponseEntity.badRequest().body(Map.of("error", "Invalid or read-only fields: " + String.join(", ", rejected)));
+            }
+            if (emailTaken) {
+                status.setRollbackOnly();
+                return emailTaken();
+            }
+
+            // Derived values only change with the body measurements
+            if (delta.containsKey("height") || delta.containsKey("weight")
+                    || delta.containsKey("age") || delta.containsKey("gender")) {
+                delta.put("bmi", user.getBmi());
+                delta.put("bmiCategory", user.getBmiCategory());
+                delta.put("recommendedCalories", user.getRecommendedCalories());
+            }
+
+            delta.put("id", user.getId());
+            cacheAfterCommit(user);
+            return ResponseEntity.ok(delta);
+        });
+    }
+
+    // The cache must never serve a change that was rolled back; outside a transaction the save has already committed
+    private void cacheAfterCommit(User user) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userProfileCache.put(user);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userProfileCache.put(user);
+            }
+        });
+    }
+
+    private static final Object UNCHANGED = new Object();
+    private static final Object REJECTED = new Object();
+    private static final Object TAKEN = new Object();
+
+    // A case-only change of the user's own address needs no check
+    private boolean isEmailAvailableTo(User user, String email) {
+        String normalized = AccountAvailabilityService.normalize(email);
+        return normalized.equals(AccountAvailabilityService.normalize(user.getEmail()))
+                || accountAvailabilityService.isEmailAvailable(email);
+    }
+
+    private static ResponseEntity<?> emailTaken() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "An account with this email already exists"));
+    }
+
+    // Applies one patched field; returns the new value, UNCHANGED, REJECTED or TAKEN (email in use).
+    // Validation mirrors updateUser so both endpoints accept the same values.
+    private Object applyField(User user, String field, Object value) {
+        switch (field) {
+            case "id":
+                return Objects.equals(asLong(value), user.getId()) ? UNCHANGED : REJECTED;
+            case "fullName": {
+                String v = asString(value);
+                if (v == null || v.trim().isEmpty()) return REJECTED;
+                if (v.equals(user.getFullName())) return UNCHANGED;
+                user.setFullName(v);
+                return v;
+            }
+            case "email": {
+                String v = asString(value);
+                if (v == null || v.isEmpty()) return REJECTED;
+                if (v.equals(user.getEmail())) return UNCHANGED;
+                if (!isEmailAvailableTo(user, v)) return TAKEN;
+                String previous = user.getEmail();
+                // Only touch the filter once the new address is actually committed
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        accountAvailabilityService.emailChanged(previous, v);
+                    }
+                });
+                user.setEmail(v);
+                return v;
+            }
+            case "height": {
+                double v = asDouble(value);
+                if (v <= 0) return REJECTED;
+                if (v == user.getHeight()) return UNCHANGED;
+                user.setHeight(v);
+                return v;
+            }
+            case "weight": {
+                double v = asDouble(value);
+                if (v <= 0) return REJECTED;
+                if (v == user.getWeight()) return UNCHANGED;
+                user.setWeight(v);
+                return v;
+            }
+            case "targetWeight": {
+                double v = asDouble(value);
+                if (v <= 0) return REJECTED;
+                if (v == user.getTargetWeight()) return UNCHANGED;
+                user.setTargetWeight(v);
+                return v;
+            }
+            case "age": {
+                int v = asInt(value);
+                if (v <= 0) return REJECTED;
+                if (v == user.getAge()) return UNCHANGED;
+                user.setAge(v);
+                return v;
+            }
+            case "dailyCalorieGoal": {
+                int v = asInt(value);
+                if (v <= 0) return REJECTED;
+                if (v == user.getDailyCalorieGoal()) return UNCHANGED;
+                user.setDailyCalorieGoal(v);
+                return v;
+            }
+            case "gender": {
+                String v = asString(value);
+                if (Objects.equals(v, user.getGender())) return UNCHANGED;
+                user.setGender(v);
+                return v;
+            }
+            case "allergies": {
+                String v = asString(value);
+                if (Objects.equals(v, user.getAllergies())) return UNCHANGED;
+                user.setAllergies(v);
+                return v;
+            }
+            case "conditions": {
+                String v = asString(value);
+                if (Objects.equals(v, user.getConditions())) return UNCHANGED;
+                user.setConditions(v);
+                return v;
+            }
+            case "mood": {
+                String v = asString(value);
+                if (Objects.equals(v, user.getMood())) return UNCHANGED;
+                // Recorded once the patch commits
+                moodAnalyticsService.moodCheckedIn(user.getId(), v);
+                user.setMood(v);
+                return v;
+            }
+            case "profilePicture": {
+                String v = asString(value);
+                if (Objects.equals(v, user.getProfilePicture())) return UNCHANGED;
+                user.setProfilePicture(v);
+                return v;
+            }
+            case "profileIcon": {
+                String v = asString(value);
+                if (Objects.equals(v, user.getProfileIcon())) return UNCHANGED;
+                user.setProfileIcon(v);
+                return v;
+            }
+            case "notificationSound": {
+                String v = asString(value);
+                if (Objects.equals(v, user.getNotificationSound())) return UNCHANGED;
+                user.setNotificationSound(v);
+                return v;
+            }
+            case "notificationsEnabled": {
+                boolean v = asBoolean(value);
+                if (v == user.isNotificationsEnabled()) return UNCHANGED;
+                user.setNotificationsEnabled(v);
+                return v;
+            }
+            default:
+                // username, password, OTPs, verification state, points/level/streak
+                // (GamificationService) and water/achievement counters (ActivityCounterService)
+                // have their own endpoints
+                return REJECTED;
+        }
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static Long asLong(Object value) {
+        return value != null ? Long.valueOf(value.toString()) : null;
+    }
+
+    private static int asInt(Object value) {
+        return value instanceof Number n ? n.intValue() : Integer.parseInt(value.toString());
+    }
+
+    private static double asDouble(Object value) {
+        return value instanceof Number n ? n.doubleValue() : Double.parseDouble(value.toString());
+    }
+
+    private static boolean asBoolean(Object value) {
+        return value instanceof Boolean b ? b : Boolean.parseBoolean(value.toString());
+    }
+
+    // Log (positive amount) or remove (negative amount) glasses of water
+    @PostMapping("/{id}/water")
+    public ResponseEntity<?> logWater(@PathVariable Long id, @RequestBody(required = false) Map<String, Integer> data) {
+        int amount = data != null && data.get("amount") != null ? data.get("amount") : 1;
+        return activityCounterService.addWater(id, amount)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Increment an achievement counter: meals, journal, perfect-medicine-days, perfect-days
+    @PostMapping("/{id}/stats/{stat}")
+    public ResponseEntity<?> incrementStat(@PathVariable Long id, @PathVariable String stat) {
+        var counters = switch (stat) {
+            case "meals" -> activityCounterService.mealLogged(id);
+            case "journal" -> activityCounterService.journalEntryAdded(id);
+            case "perfect-medicine-days" -> activityCounterService.increment(id, Counter.PERFECT_MEDICINE_DAYS);
+            case "perfect-days" -> activityCounterService.increment(id, Counter.PERFECT_DAYS);
+            default -> null;
+        };
+        if (counters == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unknown stat: " + stat));
+        }
+        return counters
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable Long id, @RequestBody(required = false) Map<String, String> data) {
         var userOpt = userRepository.findById(id);
@@ -172,6 +424,9 @@ public class UserController {
         }
         
         userRepository.deleteById(id);
+        accountAvailabilityService.userDeleted(user);
+        userProfileCache.evict(id);
+        gamificationService.userDeleted(id);
         return ResponseEntity.ok(Map.of("message", "Account deleted successfully"));
     }
     
@@ -218,90 +473,67 @@ public class UserController {
             return ResponseEntity.badRequest().body(Map.of("error", "New username must be different from current"));
         }
         
-        // Check if username is already taken
-        var existingUser = userRepository.findByUsername(newUsername);
-        if (existingUser.isPresent() && !existingUser.get().getId().equals(userId)) {
+        // Check if username is already taken (by anyone else, case-insensitive)
+        boolean ownName = newUsername.equals(AccountAvailabilityService.normalize(user.getUsername()));
+        if (!ownName && !accountAvailabilityService.isUsernameAvailable(newUsername)) {
             return ResponseEntity.badRequest().body(Map.of("error", "Username is already taken"));
         }
         
         // Update username
+        String previousUsername = user.getUsername();
         user.setUsername(newUsername);
         user.setLastUsernameChange(java.time.LocalDate.now().toString());
-        User saved = userRepository.save(user);
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with another account taking the same name
+            return ResponseEntity.badRequest().body(Map.of("error", "Username is already taken"));
+        }
+        cacheAfterCommit(saved);
+        accountAvailabilityService.usernameChanged(previousUsername, saved.getUsername());
         
         // Return updated user data
-        Map<String, Object> response = new HashMap<>();
-        response.put("id", saved.getId());
-        response.put("fullName", saved.getFullName());
-        response.put("username", saved.getUsername());
-        response.put("email", saved.getEmail());
-        response.put("height", saved.getHeight());
-        response.put("weight", saved.getWeight());
-        response.put("age", saved.getAge());
-        response.put("gender", saved.getGender());
-        response.put("allergies", saved.getAllergies());
-        response.put("conditions", saved.getConditions());
-        response.put("targetWeight", saved.getTargetWeight());
-        response.put("profilePicture", saved.getProfilePicture());
-        response.put("profileIcon", saved.getProfileIcon());
-        response.put("notificationSound", saved.getNotificationSound());
-        response.put("notificationsEnabled", saved.isNotificationsEnabled());
-        response.put("dailyCalorieGoal", saved.getDailyCalorieGoal());
-        response.put("waterIntake", saved.getWaterIntake());
-        response.put("points", saved.getPoints());
-        response.put("level", saved.getLevel());
-        response.put("mood", saved.getMood());
-        response.put("bmi", saved.getBmi());
-        response.put("bmiCategory", saved.getBmiCategory());
-        response.put("recommendedCalories", saved.getRecommendedCalories());
-        response.put("streak", saved.getStreak());
-        response.put("lastClaimDate", saved.getLastClaimDate());
-        response.put("totalWaterLogs", saved.getTotalWaterLogs());
-        response.put("totalMealsLogged", saved.getTotalMealsLogged());
-        response.put("perfectMedicineDays", saved.getPerfectMedicineDays());
-        response.put("perfectDays", saved.getPerfectDays());
-        response.put("morningLogs", saved.getMorningLogs());
-        response.put("eveningLogs", saved.getEveningLogs());
-        response.put("journalEntries", saved.getJournalEntries());
-        response.put("lastUsernameChange", saved.getLastUsernameChange());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(UserResponse.from(saved));
     }
 
     @GetMapping("/bmi/{id}")
+    @VersionedResponse(value = Resource.PROFILE, userIdVariable = "id")
     public ResponseEntity<?> getBmiInfo(@PathVariable Long id) {
-        return userRepository.findById(id)
-                .map(user -> {
-                    Map<String, Object> bmiInfo = new HashMap<>();
-                    bmiInfo.put("bmi", Math.round(user.getBmi() * 10.0) / 10.0);
-                    bmiInfo.put("category", user.getBmiCategory());
-                    bmiInfo.put("recommendedCalories", user.getRecommendedCalories());
-                    bmiInfo.put("currentWeight", user.getWeight());
-                    bmiInfo.put("targetWeight", user.getTargetWeight());
-                    bmiInfo.put("height", user.getHeight());
-                    
-                    // Calculate ideal weight range (BMI 18.5-24.9)
-                    double heightM = user.getHeight() / 100.0;
-                    double minIdealWeight = 18.5 * heightM * heightM;
-                    double maxIdealWeight = 24.9 * heightM * heightM;
-                    bmiInfo.put("idealWeightMin", Math.round(minIdealWeight * 10.0) / 10.0);
-                    bmiInfo.put("idealWeightMax", Math.round(maxIdealWeight * 10.0) / 10.0);
-                    
-                    // Weight to lose/gain for healthy BMI
-                    double currentWeight = user.getWeight();
-                    if (currentWeight > maxIdealWeight) {
-                        bmiInfo.put("weightToLose", Math.round((currentWeight - maxIdealWeight) * 10.0) / 10.0);
-                        bmiInfo.put("weightToGain", 0);
-                    } else if (currentWeight < minIdealWeight) {
-                        bmiInfo.put("weightToLose", 0);
-                        bmiInfo.put("weightToGain", Math.round((minIdealWeight - currentWeight) * 10.0) / 10.0);
-                    } else {
-                        bmiInfo.put("weightToLose", 0);
-                        bmiInfo.put("weightToGain", 0);
-                    }
-                    
-                    return ResponseEntity.ok(bmiInfo);
-                })
+        return userProfileCache.get(id)
+                .<ResponseEntity<?>>map(user -> ResponseEntity.ok(bmiInfo(user)))
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    // BMI, ideal weight range and distance to it; also used by the dashboard
+    static Map<String, Object> bmiInfo(UserProfile user) {
+        Map<String, Object> bmiInfo = new HashMap<>();
+        bmiInfo.put("bmi", Math.round(user.bmi() * 10.0) / 10.0);
+        bmiInfo.put("category", user.bmiCategory());
+        bmiInfo.put("recommendedCalories", user.recommendedCalories());
+        bmiInfo.put("currentWeight", user.weight());
+        bmiInfo.put("targetWeight", user.targetWeight());
+        bmiInfo.put("height", user.height());
+        
+        // Calculate ideal weight range (BMI 18.5-24.9)
+        double heightM = user.height() / 100.0;
+        double minIdealWeight = 18.5 * heightM * heightM;
+        double maxIdealWeight = 24.9 * heightM * heightM;
+        bmiInfo.put("idealWeightMin", Math.round(minIdealWeight * 10.0) / 10.0);
+        bmiInfo.put("idealWeightMax", Math.round(maxIdealWeight * 10.0) / 10.0);
+        
+        // Weight to lose/gain for healthy BMI
+        double currentWeight = user.weight();
+        if (currentWeight > maxIdealWeight) {
+            bmiInfo.put("weightToLose", Math.round((currentWeight - maxIdealWeight) * 10.0) / 10.0);
+            bmiInfo.put("weightToGain", 0);
+        } else if (currentWeight < minIdealWeight) {
+            bmiInfo.put("weightToLose", 0);
+            bmiInfo.put("weightToGain", Math.round((minIdealWeight - currentWeight) * 10.0) / 10.0);
+        } else {
+            bmiInfo.put("weightToLose", 0);
+            bmiInfo.put("weightToGain", 0);
+        }
+        return bmiInfo;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.medimind.api.controller;
+
+import com.medimind.api.service.ResourceVersionService;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a per-user GET endpoint whose response only depends on the listed
+ * resources of the user in the path (and, if daily, on today's date).
+ * ConditionalGetInterceptor tags it with an ETag from ResourceVersionService
+ * and answers a matching If-None-Match with 304 before the handler runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface VersionedResponse {
+
+    ResourceVersionService.Resource[] value();
+
+    /** Name of the path variable holding the user id. */
+    String userIdVariable() default "userId";
+
+    /** The response also changes at midnight (today's doses, today's meals). */
+    boolean daily() default false;
+}
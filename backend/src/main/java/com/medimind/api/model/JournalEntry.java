@@ -1,12 +1,15 @@
 package com.medimind.api.model;
 
+import com.medimind.api.service.ResourceVersionListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ResourceVersionListener.class)
 @Data
-@Table(name = "journal_entries")
+@Table(name = "journal_entries",
+       indexes = @Index(name = "ix_journal_entries_user_created", columnList = "user_id, created_at, id"))
 public class JournalEntry {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
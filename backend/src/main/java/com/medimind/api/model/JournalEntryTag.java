@@ -0,0 +1,19 @@
+package com.medimind.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Data
+@Table(name = "journal_entry_tags",
+       uniqueConstraints = @UniqueConstraint(name = "ux_journal_entry_tags_entry_tag", columnNames = {"entry_id", "tag_id"}),
+       indexes = @Index(name = "ix_journal_entry_tags_tag", columnList = "tag_id"))
+public class JournalEntryTag {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long entryId;
+
+    private Long tagId;
+}
@@ -0,0 +1,21 @@
+package com.medimind.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Data
+@Table(name = "journal_tags",
+       uniqueConstraints = @UniqueConstraint(name = "ux_journal_tags_user_name", columnNames = {"user_id", "name"}))
+public class JournalTag {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long userId;
+
+    @Column(length = 50)
+    private String name; // Normalized: trimmed, lowercase, no leading '#'
+
+    private int entryCount; // Number of entries carrying this tag, maintained on every save/delete
+}
@@ -1,13 +1,19 @@
 package com.medimind.api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.medimind.api.service.ResourceVersionListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "meals")
+@EntityListeners(ResourceVersionListener.class)
+@Table(name = "meals",
+       indexes = @Index(name = "ix_meals_user_logged", columnList = "user_id, logged_at"))
 @Data
 @NoArgsConstructor
 public class Meal {
@@ -28,7 +34,11 @@ public class Meal {
     @Column(nullable = false)
     private LocalDateTime loggedAt;
 
-    @ManyToOne
+    // Lazy reference only; the owner is never serialized with the meal
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 }
\ No newline at end of file
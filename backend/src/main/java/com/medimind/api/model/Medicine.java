@@ -1,5 +1,6 @@
 package com.medimind.api.model;
 
+import com.medimind.api.service.ResourceVersionListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
@@ -7,8 +8,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ResourceVersionListener.class)
 @Data
-@Table(name = "medicines")
+@Table(name = "medicines",
+       indexes = @Index(name = "ix_medicines_user", columnList = "user_id, id"))
 public class Medicine {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
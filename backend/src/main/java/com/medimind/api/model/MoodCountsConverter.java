@@ -0,0 +1,37 @@
+package com.medimind.api.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stores a rollup's mood counts as "Happy=3,Sad=1". Mood names are
+ * normalized to letters only, so neither separator can occur in them.
+ */
+@Converter
+public class MoodCountsConverter implements AttributeConverter<Map<String, Integer>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, Integer> counts) {
+        if (counts == null || counts.isEmpty()) return "";
+        StringBuilder sb = new StringBuilder();
+        counts.forEach((mood, count) -> {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(mood).append('=').append(count);
+        });
+        return sb.toString();
+    }
+
+    @Override
+    public Map<String, Integer> convertToEntityAttribute(String column) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        if (column == null || column.isEmpty()) return counts;
+        for (String pair : column.split(",")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) counts.put(pair.substring(0, eq), Integer.parseInt(pair.substring(eq + 1)));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,30 @@
+package com.medimind.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Table(name = "mood_observations",
+       indexes = @Index(name = "ix_mood_observations_user_observed", columnList = "user_id, observed_at"))
+public class MoodObservation {
+    public enum Source { JOURNAL, CHECK_IN }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long userId;
+
+    @Column(length = 30)
+    private String mood; // Normalized name, e.g. "Happy" for both "Happy" and "Happy 😊"
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private Source source;
+
+    private Long journalEntryId; // Set for JOURNAL observations
+
+    private LocalDateTime observedAt;
+}
@@ -0,0 +1,40 @@
+package com.medimind.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Entity
+@Data
+@Table(name = "mood_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "ux_mood_rollups_user_period_start",
+                                             columnNames = {"user_id", "period", "period_start"}))
+public class MoodRollup {
+    public enum Period { DAY, WEEK }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 4)
+    private Period period;
+
+    private LocalDate periodStart; // The day itself, or the Monday of the week
+
+    private int observations; // Mood observations from any source
+
+    private int journalEntries; // Journal entries written in the period
+
+    private int activeDays; // Days with at least one journal entry (1 or 0 for DAY)
+
+    private int journalStreak; // DAY only: consecutive journaling days ending on this day
+
+    @Convert(converter = MoodCountsConverter.class)
+    @Column(length = 500)
+    private Map<String, Integer> moodCounts = new LinkedHashMap<>();
+}
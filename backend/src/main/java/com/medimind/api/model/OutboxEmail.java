@@ -0,0 +1,51 @@
+package com.medimind.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * An email waiting in (or delivered from) the outbox. PENDING rows are
+ * picked up by EmailOutbox's dispatcher once nextAttemptAt has passed;
+ * rows that run out of attempts, or are still undelivered at expiresAt,
+ * end up DEAD with the last error kept.
+ */
+@Entity
+@Data
+@Table(name = "email_outbox",
+       indexes = @Index(name = "ix_email_outbox_due", columnList = "status, next_attempt_at"))
+public class OutboxEmail {
+    public enum Status { PENDING, SENT, DEAD }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(length = 20000)
+    private String body; // HTML; cleared once SENT or DEAD, since it may hold a one-time code
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 7, nullable = false)
+    private Status status = Status.PENDING;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt; // Next try, or when a claim by a dispatcher lapses
+
+    private LocalDateTime expiresAt; // Not worth sending after this (e.g. the code in it has expired)
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+}
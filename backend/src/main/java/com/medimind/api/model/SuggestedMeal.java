@@ -0,0 +1,22 @@
+package com.medimind.api.model;
+
+import java.util.List;
+
+/**
+ * A catalog meal suggested to a user, scored against their profile and
+ * annotated with allergy and health-condition warnings.
+ */
+public record SuggestedMeal(
+        String name,
+        String cuisine,
+        String mainIngredient,
+        int calories,
+        String description,
+        List<String> dietaryFlags,
+        int healthScore,
+        int compatibility,
+        List<String> allergyWarnings,
+        boolean hasAllergyRisk,
+        List<String> healthWarnings
+) {
+}
@@ -0,0 +1,17 @@
+package com.medimind.api.model;
+
+/**
+ * One scheduled dose of a medicine for today, as listed on the medicine
+ * page. Slot is 1-3, matching time1..time3 on the medicine.
+ */
+public record TodaysDose(
+        Long medicineId,
+        String medicineName,
+        String dosage,
+        int slot,
+        String time,
+        boolean taken,
+        long daysRemaining,
+        String takenAt
+) {
+}
@@ -1,14 +1,24 @@
 package com.medimind.api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.medimind.api.service.ResourceVersionListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.util.Locale;
 
 @Entity
+@EntityListeners(ResourceVersionListener.class)
 @Data
-@Table(name = "users")
+@DynamicUpdate // UPDATE only the columns that changed, so small edits skip the picture column
+@Table(name = "users", indexes = {
+        @Index(name = "ux_users_username_normalized", columnList = "username_normalized", unique = true),
+        @Index(name = "ux_users_email_normalized", columnList = "email_normalized", unique = true)
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,6 +37,15 @@ public class User {
     @Column(unique = true)
     private String email;
     
+    // Trimmed, lower-cased copies used for case-insensitive lookups
+    @JsonIgnore
+    @Column(name = "username_normalized")
+    private String usernameNormalized;
+
+    @JsonIgnore
+    @Column(name = "email_normalized")
+    private String emailNormalized;
+
     @NotBlank(message = "Password is required")
     @Size(min = 6, message = "Password must be at least 6 characters")
     private String password;
@@ -62,12 +81,18 @@ public class User {
     // Daily Stats
     private int dailyCalorieGoal = 2000;
     private int waterIntake = 0; 
+    // Gamification columns are set on insert, then only by GamificationService's UPDATE queries,
+    // so saving a stale User can't undo a claim or award
+    @Column(updatable = false)
     private int points = 50;
+    @Column(updatable = false)
     private String level = "Bronze";
     private String mood = "Neutral"; // Happy, Sad, Tired, etc.
     
     // Streak tracking
+    @Column(updatable = false)
     private int streak = 0;
+    @Column(updatable = false)
     private String lastClaimDate;
     
     // Activity tracking for achievements
@@ -79,6 +104,17 @@ public class User {
     private int eveningLogs = 0;
     private int journalEntries = 0;
     
+    // Keep the normalized copies in step (Hibernate itself uses field access)
+    public void setUsername(String username) {
+        this.username = username;
+        this.usernameNormalized = username == null ? null : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailNormalized = email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
     // Calculated BMI (transient - not stored)
     @Transient
     public double getBmi() {
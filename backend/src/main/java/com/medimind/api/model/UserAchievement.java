@@ -0,0 +1,23 @@
+package com.medimind.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Table(name = "user_achievements",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "achievement"}))
+public class UserAchievement {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long userId;
+
+    private String achievement; // GamificationService.Achievement name, e.g. HYDRATION_HERO
+
+    private int pointsAwarded;
+
+    private LocalDateTime awardedAt;
+}
@@ -0,0 +1,44 @@
+package com.medimind.api.model;
+
+/**
+ * Immutable read-only snapshot of a user's profile for hot read paths.
+ * Deliberately leaves out the password, OTP/verification codes, the
+ * profile picture and the frequently changing activity counters.
+ */
+public record UserProfile(
+        Long id,
+        String username,
+        String fullName,
+        String email,
+        double height,
+        double weight,
+        double targetWeight,
+        int age,
+        String gender,
+        String allergies,
+        String conditions,
+        int dailyCalorieGoal,
+        double bmi,
+        String bmiCategory,
+        int recommendedCalories
+) {
+    public static UserProfile from(User user) {
+        return new UserProfile(
+                user.getId(),
+                user.getUsername(),
+                user.getFullName(),
+                user.getEmail(),
+                user.getHeight(),
+                user.getWeight(),
+                user.getTargetWeight(),
+                user.getAge(),
+                user.getGender(),
+                user.getAllergies(),
+                user.getConditions(),
+                user.getDailyCalorieGoal(),
+                user.getBmi(),
+                user.getBmiCategory(),
+                user.getRecommendedCalories()
+        );
+    }
+}
@@ -0,0 +1,82 @@
+package com.medimind.api.model;
+
+/**
+ * A user as returned to its owner after login, signup and profile reads
+ * or updates, with the derived BMI and calorie values. Leaves out the
+ * password, OTP/verification codes and normalized names.
+ */
+public record UserResponse(
+        Long id,
+        String fullName,
+        String username,
+        String email,
+        boolean emailVerified,
+        double height,
+        double weight,
+        int age,
+        String gender,
+        String allergies,
+        String conditions,
+        double targetWeight,
+        String profilePicture,
+        String profileIcon,
+        String notificationSound,
+        boolean notificationsEnabled,
+        int dailyCalorieGoal,
+        int waterIntake,
+        int points,
+        String level,
+        String mood,
+        double bmi,
+        String bmiCategory,
+        int recommendedCalories,
+        int streak,
+        String lastClaimDate,
+        int totalWaterLogs,
+        int totalMealsLogged,
+        int perfectMedicineDays,
+        int perfectDays,
+        int morningLogs,
+        int eveningLogs,
+        int journalEntries,
+        String lastUsernameChange
+) {
+    public static UserResponse from(User user) {
+        return new UserResponse(
+                user.getId(),
+                user.getFullName(),
+                user.getUsername(),
+                user.getEmail(),
+                user.isEmailVerified(),
+                user.getHeight(),
+                user.getWeight(),
+                user.getAge(),
+                user.getGender(),
+                user.getAllergies(),
+                user.getConditions(),
+                user.getTargetWeight(),
+                user.getProfilePicture(),
+                user.getProfileIcon(),
+                user.getNotificationSound(),
+                user.isNotificationsEnabled(),
+                user.getDailyCalorieGoal(),
+                user.getWaterIntake(),
+                user.getPoints(),
+                user.getLevel(),
+                user.getMood(),
+                user.getBmi(),
+                user.getBmiCategory(),
+                user.getRecommendedCalories(),
+                user.getStreak(),
+                user.getLastClaimDate(),
+                user.getTotalWaterLogs(),
+                user.getTotalMealsLogged(),
+                user.getPerfectMedicineDays(),
+                user.getPerfectDays(),
+                user.getMorningLogs(),
+                user.getEveningLogs(),
+                user.getJournalEntries(),
+                user.getLastUsernameChange()
+        );
+    }
+}
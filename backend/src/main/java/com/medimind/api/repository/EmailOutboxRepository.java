@@ -0,0 +1,36 @@
+package com.medimind.api.repository;
+
+import com.medimind.api.model.OutboxEmail;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface EmailOutboxRepository extends JpaRepository<OutboxEmail, Long> {
+
+    // Due rows, oldest first; rows another dispatcher has locked are skipped, not waited on.
+    // A lock timeout of -2 is Hibernate's SKIP LOCKED (the LockOptions.SKIP_LOCKED constant is deprecated)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEmail e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<OutboxEmail> findDueForUpdate(@Param("status") OutboxEmail.Status status,
+                                       @Param("now") LocalDateTime now,
+                                       Pageable page);
+
+    Optional<OutboxEmail> findFirstByStatusOrderByNextAttemptAtAsc(OutboxEmail.Status status);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEmail e WHERE e.status = :status AND e.createdAt < :before")
+    int deleteByStatusCreatedBefore(@Param("status") OutboxEmail.Status status,
+                                    @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,20 @@
+package com.medimind.api.repository;
+
+import com.medimind.api.model.JournalEntryTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface JournalEntryTagRepository extends JpaRepository<JournalEntryTag, Long> {
+    List<JournalEntryTag> findByEntryId(Long entryId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM JournalEntryTag l WHERE l.entryId = :entryId AND l.tagId IN :tagIds")
+    int deleteLinks(@Param("entryId") Long entryId, @Param("tagIds") Collection<Long> tagIds);
+}
@@ -1,21 +1,75 @@
 package com.medimind.api.repository;
 
 import com.medimind.api.model.JournalEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface JournalRepository extends JpaRepository<JournalEntry, Long> {
     List<JournalEntry> findByUserIdOrderByCreatedAtDesc(Long userId);
     
+    List<JournalEntry> findByUserId(Long userId);
+    
+    long countByUserId(Long userId);
+    
+    @Query("SELECT j.id AS id, j.title AS title, j.content AS content, j.tags AS tags " +
+           "FROM JournalEntry j WHERE j.userId = :userId")
+    List<JournalText> findTextByUserId(@Param("userId") Long userId);
+    
+    // Export: cursor over all of a user's entries, a fetch-size batch at a time
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<JournalEntry> streamByUserIdOrderByIdAsc(Long userId);
+    
+    // Summary pages, newest first, keyset-paged on (createdAt, id); the
+    // snippet length must match JournalSummary.SNIPPET_LENGTH
+    @Query("SELECT j.id AS id, j.title AS title, j.mood AS mood, j.tags AS tags, " +
+           "j.createdAt AS createdAt, j.updatedAt AS updatedAt, " +
+           "SUBSTRING(j.content, 1, 300) AS snippet, LENGTH(j.content) AS contentLength " +
+           "FROM JournalEntry j WHERE j.userId = :userId " +
+           "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JournalSummary> findSummaries(@Param("userId") Long userId, Pageable page);
+    
+    @Query("SELECT j.id AS id, j.title AS title, j.mood AS mood, j.tags AS tags, " +
+           "j.createdAt AS createdAt, j.updatedAt AS updatedAt, " +
+           "SUBSTRING(j.content, 1, 300) AS snippet, LENGTH(j.content) AS contentLength " +
+           "FROM JournalEntry j WHERE j.userId = :userId AND " +
+           "(j.createdAt < :createdAt OR (j.createdAt = :createdAt AND j.id < :id)) " +
+           "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JournalSummary> findSummariesBefore(@Param("userId") Long userId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable page);
+    
+    @Query("SELECT COUNT(j) AS entryCount, COALESCE(SUM(j.id), 0) AS idSum, MAX(j.updatedAt) AS lastUpdated " +
+           "FROM JournalEntry j WHERE j.userId = :userId")
+    JournalStats getStatsByUserId(@Param("userId") Long userId);
+    
     @Query("SELECT j FROM JournalEntry j WHERE j.userId = :userId AND " +
            "(LOWER(j.content) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(j.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(j.tags) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     List<JournalEntry> searchByKeyword(@Param("userId") Long userId, @Param("keyword") String keyword);
     
+    // Tag filter via journal_entry_tags instead of LIKE on the tags string
+    @Query("SELECT j FROM JournalEntry j WHERE j.userId = :userId AND j.id IN " +
+           "(SELECT l.entryId FROM JournalEntryTag l WHERE l.tagId = :tagId) ORDER BY j.createdAt DESC")
+    List<JournalEntry> findByTagId(@Param("userId") Long userId, @Param("tagId") Long tagId);
+    
+    // Tag backfill: tagged entries with no links yet, keyset-paged by id, so an interrupted run picks up
+    // where it stopped. Served by the (entry_id, tag_id) unique index on journal_entry_tags
+    @Query("SELECT j.id AS id, j.userId AS userId, j.tags AS tags FROM JournalEntry j " +
+           "WHERE j.id > :afterId AND j.tags IS NOT NULL AND j.tags <> '' AND NOT EXISTS " +
+           "(SELECT l.id FROM JournalEntryTag l WHERE l.entryId = j.id) ORDER BY j.id")
+    List<JournalTagSource> findUnlinkedTaggedAfter(@Param("afterId") Long afterId, Pageable page);
+    
     @Query("SELECT j FROM JournalEntry j WHERE j.userId = :userId AND " +
            "j.createdAt BETWEEN :startDate AND :endDate ORDER BY j.createdAt DESC")
     List<JournalEntry> findByDateRange(@Param("userId") Long userId, 
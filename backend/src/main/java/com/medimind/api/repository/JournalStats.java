@@ -0,0 +1,14 @@
+package com.medimind.api.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entry count, id checksum and newest modification time of a user's journal,
+ * used to check whether a persisted search index segment is still current.
+ * Ids only grow, so any add or delete changes the count or the id sum.
+ */
+public interface JournalStats {
+    long getEntryCount();
+    long getIdSum();
+    LocalDateTime getLastUpdated();
+}
@@ -0,0 +1,20 @@
+package com.medimind.api.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of a journal entry: everything but the body, plus the first
+ * SNIPPET_LENGTH characters of it. Full content is fetched per entry.
+ */
+public interface JournalSummary {
+    int SNIPPET_LENGTH = 300;
+
+    Long getId();
+    String getTitle();
+    String getMood();
+    String getTags();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    String getSnippet();
+    Integer getContentLength();
+}
@@ -0,0 +1,26 @@
+package com.medimind.api.repository;
+
+import com.medimind.api.model.JournalTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface JournalTagRepository extends JpaRepository<JournalTag, Long> {
+    Optional<JournalTag> findByUserIdAndName(Long userId, String name);
+
+    List<JournalTag> findByUserIdAndNameIn(Long userId, Collection<String> names);
+
+    // Facets: tags still in use, most used first
+    List<JournalTag> findByUserIdAndEntryCountGreaterThanOrderByEntryCountDescNameAsc(Long userId, int minCount);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JournalTag t SET t.entryCount = t.entryCount + :delta WHERE t.id IN :ids")
+    int adjustEntryCounts(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+}
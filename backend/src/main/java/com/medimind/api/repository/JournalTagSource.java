@@ -0,0 +1,10 @@
+package com.medimind.api.repository;
+
+/**
+ * The columns the tag backfill needs from a journal entry.
+ */
+public interface JournalTagSource {
+    Long getId();
+    Long getUserId();
+    String getTags();
+}
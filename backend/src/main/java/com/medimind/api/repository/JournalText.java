@@ -0,0 +1,11 @@
+package com.medimind.api.repository;
+
+/**
+ * Just the searchable text of a journal entry, for building the fuzzy index.
+ */
+public interface JournalText {
+    Long getId();
+    String getTitle();
+    String getContent();
+    String getTags();
+}
@@ -0,0 +1,9 @@
+package com.medimind.api.repository;
+
+/**
+ * Just the id and food items of a meal, for building the fuzzy food index.
+ */
+public interface MealFoodItems {
+    Long getId();
+    String getFoodItems();
+}
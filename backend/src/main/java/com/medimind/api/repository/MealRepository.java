@@ -2,13 +2,28 @@ package com.medimind.api.repository;
 
 import com.medimind.api.model.Meal;
 import com.medimind.api.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MealRepository extends JpaRepository<Meal, Long> {
     List<Meal> findByUserOrderByLoggedAtDesc(User user);
     List<Meal> findByUserAndLoggedAtBetween(User user, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT m.id AS id, m.foodItems AS foodItems FROM Meal m WHERE m.user.id = :userId")
+    List<MealFoodItems> findFoodItemsByUserId(@Param("userId") Long userId);
+
+    // Export: cursor over all of a user's meals, a fetch-size batch at a time
+    @Query("SELECT m FROM Meal m WHERE m.user.id = :userId ORDER BY m.id")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Meal> streamByUserId(@Param("userId") Long userId);
 }
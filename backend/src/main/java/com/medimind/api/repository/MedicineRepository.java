@@ -1,10 +1,19 @@
 package com.medimind.api.repository;
 
 import com.medimind.api.model.Medicine;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface MedicineRepository extends JpaRepository<Medicine, Long> {
     List<Medicine> findByUserId(Long userId);
     List<Medicine> findByUserIdAndActiveTrue(Long userId);
+
+    // Export: cursor over all of a user's medicines, a fetch-size batch at a time
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Medicine> streamByUserIdOrderByIdAsc(Long userId);
 }
\ No newline at end of file
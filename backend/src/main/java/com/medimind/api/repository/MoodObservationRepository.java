@@ -0,0 +1,21 @@
+package com.medimind.api.repository;
+
+import com.medimind.api.model.MoodObservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface MoodObservationRepository extends JpaRepository<MoodObservation, Long> {
+    List<MoodObservation> findByUserIdAndObservedAtBetweenOrderByObservedAtAsc(
+            Long userId, LocalDateTime from, LocalDateTime to);
+
+    // Export: cursor over a user's whole mood history, a fetch-size batch at a time
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<MoodObservation> streamByUserIdOrderByIdAsc(Long userId);
+}
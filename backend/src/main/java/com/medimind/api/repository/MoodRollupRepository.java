@@ -0,0 +1,17 @@
+package com.medimind.api.repository;
+
+import com.medimind.api.model.MoodRollup;
+import com.medimind.api.model.MoodRollup.Period;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface MoodRollupRepository extends JpaRepository<MoodRollup, Long> {
+    Optional<MoodRollup> findByUserIdAndPeriodAndPeriodStart(Long userId, Period period, LocalDate periodStart);
+
+    // Range read over the (user_id, period, period_start) unique index
+    List<MoodRollup> findByUserIdAndPeriodAndPeriodStartBetweenOrderByPeriodStartAsc(
+            Long userId, Period period, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,9 @@
+package com.medimind.api.repository;
+
+import com.medimind.api.model.UserAchievement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface UserAchievementRepository extends JpaRepository<UserAchievement, Long> {
+    List<UserAchievement> findByUserIdOrderByAwardedAtAsc(Long userId);
+}
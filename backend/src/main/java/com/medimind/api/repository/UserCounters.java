@@ -0,0 +1,17 @@
+package com.medimind.api.repository;
+
+/**
+ * Projection over the activity counters of a user, so counter endpoints
+ * read a handful of ints instead of the whole users row.
+ */
+public interface UserCounters {
+    Long getId();
+    int getWaterIntake();
+    int getTotalWaterLogs();
+    int getTotalMealsLogged();
+    int getJournalEntries();
+    int getPerfectMedicineDays();
+    int getPerfectDays();
+    int getMorningLogs();
+    int getEveningLogs();
+}
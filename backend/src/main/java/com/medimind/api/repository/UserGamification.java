@@ -0,0 +1,12 @@
+package com.medimind.api.repository;
+
+/**
+ * Projection over the gamification columns of a user.
+ */
+public interface UserGamification {
+    Long getId();
+    int getPoints();
+    String getLevel();
+    int getStreak();
+    String getLastClaimDate();
+}
@@ -0,0 +1,9 @@
+package com.medimind.api.repository;
+
+/**
+ * Projection over the normalized login identifiers of a user.
+ */
+public interface UserIdentity {
+    String getUsernameNormalized();
+    String getEmailNormalized();
+}
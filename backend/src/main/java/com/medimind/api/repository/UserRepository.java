@@ -2,10 +2,99 @@ package com.medimind.api.repository;
 
 import com.medimind.api.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     Optional<User> findByUsernameOrEmail(String u, String e);
-}
\ No newline at end of file
+
+    // Case-insensitive lookups on the normalized (trimmed, lower-case) columns
+    Optional<User> findByUsernameNormalized(String username);
+    Optional<User> findByEmailNormalized(String email);
+    Optional<User> findByUsernameNormalizedOrEmailNormalized(String u, String e);
+    boolean existsByUsernameNormalized(String username);
+    boolean existsByEmailNormalized(String email);
+
+    Stream<UserIdentity> streamIdentitiesBy();
+
+    long countByUsernameNormalizedIsNullOrEmailNormalizedIsNull();
+
+    // Identifiers that only differ in case or surrounding spaces; the unique normalized columns can't hold them
+    @Query("SELECT LOWER(TRIM(u.username)) FROM User u WHERE u.username IS NOT NULL " +
+           "GROUP BY LOWER(TRIM(u.username)) HAVING COUNT(u) > 1")
+    List<String> findCaseInsensitiveDuplicateUsernames();
+
+    @Query("SELECT LOWER(TRIM(u.email)) FROM User u WHERE u.email IS NOT NULL " +
+           "GROUP BY LOWER(TRIM(u.email)) HAVING COUNT(u) > 1")
+    List<String> findCaseInsensitiveDuplicateEmails();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.usernameNormalized = LOWER(TRIM(u.username)), u.emailNormalized = LOWER(TRIM(u.email)) " +
+           "WHERE u.usernameNormalized IS NULL OR u.emailNormalized IS NULL")
+    int backfillNormalizedIdentifiers();
+
+    Optional<UserCounters> findCountersById(Long id);
+
+    Optional<UserGamification> findGamificationById(Long id);
+
+    Stream<UserGamification> streamAllBy();
+
+    // Points only ever move relative to the stored value, so concurrent awards on any node all count
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.points = u.points + :delta WHERE u.id = :id")
+    int addPoints(@Param("id") Long id, @Param("delta") int delta);
+
+    // Matches only if the user has not claimed on :today (an ISO date; stored claim dates are ISO dates or
+    // timestamps, so they compare as strings), so at most one claim per day succeeds; returns 0 otherwise
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.points = u.points + :bonus, u.streak = :streak, u.lastClaimDate = :claimDate " +
+           "WHERE u.id = :id AND (u.lastClaimDate IS NULL OR u.lastClaimDate < :today)")
+    int claimDaily(@Param("id") Long id,
+                   @Param("bonus") int bonus,
+                   @Param("streak") int streak,
+                   @Param("claimDate") String claimDate,
+                   @Param("today") String today);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.level = :level WHERE u.id = :id")
+    int updateLevel(@Param("id") Long id, @Param("level") String level);
+
+    // Single atomic UPDATE for all counters; water intake never drops below zero
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET " +
+           "u.waterIntake = CASE WHEN u.waterIntake + :water < 0 THEN 0 ELSE u.waterIntake + :water END, " +
+           "u.totalWaterLogs = u.totalWaterLogs + :waterLogs, " +
+           "u.totalMealsLogged = u.totalMealsLogged + :meals, " +
+           "u.journalEntries = u.journalEntries + :journal, " +
+           "u.perfectMedicineDays = u.perfectMedicineDays + :perfectMedicineDays, " +
+           "u.perfectDays = u.perfectDays + :perfectDays, " +
+           "u.morningLogs = u.morningLogs + :morning, " +
+           "u.eveningLogs = u.eveningLogs + :evening " +
+           "WHERE u.id = :id")
+    int incrementCounters(@Param("id") Long id,
+                          @Param("water") int water,
+                          @Param("waterLogs") int waterLogs,
+                          @Param("meals") int meals,
+                          @Param("journal") int journal,
+                          @Param("perfectMedicineDays") int perfectMedicineDays,
+                          @Param("perfectDays") int perfectDays,
+                          @Param("morning") int morning,
+                          @Param("evening") int evening);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.waterIntake = 0 WHERE u.waterIntake <> 0")
+    int resetDailyWaterIntake();
+}
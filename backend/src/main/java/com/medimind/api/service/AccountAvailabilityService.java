@@ -0,0 +1,129 @@
+package com.medimind.api.service;
+
+import com.medimind.api.model.User;
+import com.medimind.api.repository.UserIdentity;
+import com.medimind.api.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Username / email availability backed by a counting Bloom filter.
+ *
+ * A negative from the filter means the name is definitely free, so the
+ * database is only consulted when the filter reports a possible match.
+ * The filter is loaded at startup and kept in sync on register, rename
+ * and account deletion.
+ */
+@Service
+public class AccountAvailabilityService {
+
+    private static final Logger logger = Logger.getLogger(AccountAvailabilityService.class.getName());
+
+    private static final String USERNAME = "u:";
+    private static final String EMAIL = "e:";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${medimind.availability.expected-users:100000}")
+    private long expectedUsers;
+
+    @Value("${medimind.availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile CountingBloomFilter filter;
+    // Until the initial load finishes every check goes to the database
+    private volatile boolean loaded = false;
+
+    public static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PostConstruct
+    public void init() {
+        filter = new CountingBloomFilter(expectedUsers * 2, falsePositiveRate);
+    }
+
+    // Holds the monitor so concurrent registrations wait for the swap instead of being lost
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public synchronized void load() {
+        // Rows written before the normalized columns existed
+        int backfilled = 0;
+        if (userRepository.countByUsernameNormalizedIsNullOrEmailNormalizedIsNull() > 0) {
+            checkForCaseInsensitiveDuplicates();
+            backfilled = userRepository.backfillNormalizedIdentifiers();
+        }
+
+        long count = userRepository.count();
+        // Two entries (username + email) per user, with room to grow
+        CountingBloomFilter fresh = new CountingBloomFilter(Math.max(expectedUsers, count) * 2, falsePositiveRate);
+        try (Stream<UserIdentity> identities = userRepository.streamIdentitiesBy()) {
+            identities.forEach(identity -> {
+                if (identity.getUsernameNormalized() != null) fresh.add(USERNAME + identity.getUsernameNormalized());
+                if (identity.getEmailNormalized() != null) fresh.add(EMAIL + identity.getEmailNormalized());
+            });
+        }
+        filter = fresh;
+        loaded = true;
+        logger.info("Availability filter loaded for " + count + " users (" + backfilled + " backfilled)");
+    }
+
+    // The backfill would trip the unique indexes on these; say which accounts need renaming instead
+    private void checkForCaseInsensitiveDuplicates() {
+        List<String> usernames = userRepository.findCaseInsensitiveDuplicateUsernames();
+        List<String> emails = userRepository.findCaseInsensitiveDuplicateEmails();
+        if (usernames.isEmpty() && emails.isEmpty()) return;
+        String message = "Cannot backfill normalized usernames/emails: several accounts share "
+                + (usernames.isEmpty() ? "" : "usernames " + usernames)
+                + (usernames.isEmpty() || emails.isEmpty() ? "" : " and ")
+                + (emails.isEmpty() ? "" : "emails " + emails)
+                + " when case and surrounding spaces are ignored. Rename or merge those accounts, then restart.";
+        logger.severe(message);
+        throw new IllegalStateException(message);
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        String normalized = normalize(username);
+        if (normalized == null || normalized.isEmpty()) return false;
+        if (loaded && !filter.mightContain(USERNAME + normalized)) return true;
+        return !userRepository.existsByUsernameNormalized(normalized);
+    }
+
+    public boolean isEmailAvailable(String email) {
+        String normalized = normalize(email);
+        if (normalized == null || normalized.isEmpty()) return false;
+        if (loaded && !filter.mightContain(EMAIL + normalized)) return true;
+        return !userRepository.existsByEmailNormalized(normalized);
+    }
+
+    public synchronized void userRegistered(User user) {
+        if (user.getUsername() != null) filter.add(USERNAME + normalize(user.getUsername()));
+        if (user.getEmail() != null) filter.add(EMAIL + normalize(user.getEmail()));
+    }
+
+    public synchronized void usernameChanged(String oldUsername, String newUsername) {
+        if (oldUsername != null) filter.remove(USERNAME + normalize(oldUsername));
+        if (newUsername != null) filter.add(USERNAME + normalize(newUsername));
+    }
+
+    public synchronized void emailChanged(String oldEmail, String newEmail) {
+        if (oldEmail != null) filter.remove(EMAIL + normalize(oldEmail));
+        if (newEmail != null) filter.add(EMAIL + normalize(newEmail));
+    }
+
+    public synchronized void userDeleted(User user) {
+        if (user.getUsername() != null) filter.remove(USERNAME + normalize(user.getUsername()));
+        if (user.getEmail() != null) filter.remove(EMAIL + normalize(user.getEmail()));
+    }
+}
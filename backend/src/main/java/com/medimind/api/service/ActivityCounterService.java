@@ -0,0 +1,227 @@
+package com.medimind.api.service;
+
+import com.medimind.api.repository.UserCounters;
+import com.medimind.api.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Server-side activity counters (water, meals, journal, perfect days...).
+ *
+ * Increments are accumulated per user and written out periodically as one
+ * atomic "SET x = x + n" UPDATE, so a burst of taps costs a single statement
+ * and tabs can no longer overwrite each other's counts. Each active user has
+ * an entry holding the counters loaded at the start of the burst plus the
+ * unflushed deltas; responses are served from it without touching the DB.
+ * Entries are locked individually, so users never contend with each other.
+ */
+@Service
+public class ActivityCounterService {
+
+    private static final Logger logger = Logger.getLogger(ActivityCounterService.class.getName());
+
+    public enum Counter {
+        WATER_INTAKE, TOTAL_WATER_LOGS, TOTAL_MEALS_LOGGED, JOURNAL_ENTRIES,
+        PERFECT_MEDICINE_DAYS, PERFECT_DAYS, MORNING_LOGS, EVENING_LOGS
+    }
+
+    private static final int COUNTERS = Counter.values().length;
+
+    // Counters as of the last load plus increments not yet written
+    private static final class PendingCounters {
+        final Long userId;
+        final int[] base;
+        final int[] deltas = new int[COUNTERS];
+        boolean retired;
+
+        PendingCounters(UserCounters counters) {
+            this.userId = counters.getId();
+            this.base = new int[] {
+                    counters.getWaterIntake(), counters.getTotalWaterLogs(),
+                    counters.getTotalMealsLogged(), counters.getJournalEntries(),
+                    counters.getPerfectMedicineDays(), counters.getPerfectDays(),
+                    counters.getMorningLogs(), counters.getEveningLogs()
+            };
+        }
+
+        boolean isDirty() {
+            for (int delta : deltas) {
+                if (delta != 0) return true;
+            }
+            return false;
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobMetrics jobMetrics;
+
+    @Autowired
+    private GamificationService gamificationService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    private final ConcurrentHashMap<Long, PendingCounters> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Log (or with a negative amount, remove) glasses of water.
+     * Only additions count towards totalWaterLogs and morning/evening logs.
+     * Returns the updated counters, or empty if the user does not exist.
+     */
+    public Optional<Map<String, Object>> addWater(Long userId, int amount) {
+        return update(userId, deltas -> {
+            deltas[Counter.WATER_INTAKE.ordinal()] += amount;
+            if (amount > 0) {
+                deltas[Counter.TOTAL_WATER_LOGS.ordinal()] += amount;
+                addTimeOfDay(deltas);
+            }
+        });
+    }
+
+    public Optional<Map<String, Object>> mealLogged(Long userId) {
+        return update(userId, deltas -> {
+            deltas[Counter.TOTAL_MEALS_LOGGED.ordinal()]++;
+            addTimeOfDay(deltas);
+        });
+    }
+
+    public Optional<Map<String, Object>> journalEntryAdded(Long userId) {
+        return update(userId, deltas -> {
+            deltas[Counter.JOURNAL_ENTRIES.ordinal()]++;
+            addTimeOfDay(deltas);
+        });
+    }
+
+    public Optional<Map<String, Object>> increment(Long userId, Counter counter) {
+        return update(userId, deltas -> deltas[counter.ordinal()]++);
+    }
+
+    // Morning is 05:00-11:59 and evening 18:00-23:59, as in the frontend
+    private static void addTimeOfDay(int[] deltas) {
+        int hour = LocalTime.now().getHour();
+        if (hour >= 5 && hour < 12) deltas[Counter.MORNING_LOGS.ordinal()]++;
+        if (hour >= 18) deltas[Counter.EVENING_LOGS.ordinal()]++;
+    }
+
+    private Optional<Map<String, Object>> update(Long userId, Consumer<int[]> change) {
+        while (true) {
+            PendingCounters entry = pending.get(userId);
+            if (entry == null) {
+                Optional<UserCounters> counters = userRepository.findCountersById(userId);
+                if (counters.isEmpty()) return Optional.empty();
+                PendingCounters loaded = new PendingCounters(counters.get());
+                entry = pending.putIfAbsent(userId, loaded);
+                if (entry == null) entry = loaded;
+            }
+            Map<String, Object> response;
+            synchronized (entry) {
+                // A flush retired this entry after we looked it up; start a fresh one
+                if (entry.retired) continue;
+                change.accept(entry.deltas);
+                response = toResponse(entry);
+            }
+            // Profile reads flush first, so they already see the new counts
+            resourceVersionService.bump(userId, ResourceVersionService.Resource.PROFILE);
+
+            List<String> unlocked = gamificationService.checkAchievements(userId, response);
+            if (!unlocked.isEmpty()) {
+                response.put("unlockedAchievements", unlocked);
+            }
+            return Optional.of(response);
+        }
+    }
+
+    private static Map<String, Object> toResponse(PendingCounters entry) {
+        int[] v = new int[COUNTERS];
+        for (int i = 0; i < COUNTERS; i++) v[i] = entry.base[i] + entry.deltas[i];
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("id", entry.userId);
+        response.put("waterIntake", Math.max(0, v[Counter.WATER_INTAKE.ordinal()]));
+        response.put("totalWaterLogs", v[Counter.TOTAL_WATER_LOGS.ordinal()]);
+        response.put("totalMealsLogged", v[Counter.TOTAL_MEALS_LOGGED.ordinal()]);
+        response.put("journalEntries", v[Counter.JOURNAL_ENTRIES.ordinal()]);
+        response.put("perfectMedicineDays", v[Counter.PERFECT_MEDICINE_DAYS.ordinal()]);
+        response.put("perfectDays", v[Counter.PERFECT_DAYS.ordinal()]);
+        response.put("morningLogs", v[Counter.MORNING_LOGS.ordinal()]);
+        response.put("eveningLogs", v[Counter.EVENING_LOGS.ordinal()]);
+        return response;
+    }
+
+    /**
+     * Write out pending increments for one user and forget the entry.
+     * Called before the full row is read or overwritten elsewhere, and
+     * outside any transaction: the entry is dropped as soon as the UPDATE
+     * returns, so that UPDATE must not be able to roll back afterwards.
+     */
+    public void flush(Long userId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Counters must be flushed before the caller's transaction starts");
+        }
+        PendingCounters entry = pending.get(userId);
+        if (entry == null) return;
+
+        synchronized (entry) {
+            if (entry.retired) return;
+            if (entry.isDirty()) {
+                try {
+                    int[] d = entry.deltas;
+                    userRepository.incrementCounters(userId,
+                            d[Counter.WATER_INTAKE.ordinal()],
+                            d[Counter.TOTAL_WATER_LOGS.ordinal()],
+                            d[Counter.TOTAL_MEALS_LOGGED.ordinal()],
+                            d[Counter.JOURNAL_ENTRIES.ordinal()],
+                            d[Counter.PERFECT_MEDICINE_DAYS.ordinal()],
+                            d[Counter.PERFECT_DAYS.ordinal()],
+                            d[Counter.MORNING_LOGS.ordinal()],
+                            d[Counter.EVENING_LOGS.ordinal()]);
+                } catch (Exception e) {
+                    // Keep the entry so the next flush retries the increments
+                    logger.warning("Failed to flush counters for user " + userId + ": " + e.getMessage());
+                    return;
+                }
+            }
+            // Removed only after the UPDATE committed, so a new entry loads fresh values
+            entry.retired = true;
+            pending.remove(userId, entry);
+        }
+    }
+
+    /**
+     * Periodically drain all pending increments.
+     */
+    @Scheduled(fixedDelayString = "${medimind.counters.flush-interval-ms:2000}")
+    @PreDestroy
+    public void flushAll() {
+        int users = 0;
+        for (Long userId : pending.keySet()) {
+            flush(userId);
+            users++;
+        }
+        jobMetrics.rows("flushActivityCounters", users, users);
+    }
+
+    /**
+     * Midnight rollover: daily water intake starts from zero again.
+     */
+    public int resetDailyWaterIntake() {
+        flushAll();
+        int reset = userRepository.resetDailyWaterIntake();
+        resourceVersionService.bumpAll(ResourceVersionService.Resource.PROFILE);
+        return reset;
+    }
+}
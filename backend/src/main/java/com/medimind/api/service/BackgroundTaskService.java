@@ -4,6 +4,10 @@ import com.medimind.api.model.Medicine;
 import com.medimind.api.model.User;
 import com.medimind.api.repository.MedicineRepository;
 import com.medimind.api.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -37,12 +41,27 @@ public class BackgroundTaskService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ActivityCounterService activityCounterService;
+
+    @Autowired
+    private JobMetrics jobMetrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     // Thread-safe storage for pending notifications
     private final ConcurrentHashMap<Long, String> pendingNotifications = new ConcurrentHashMap<>();
 
     // Thread pool for concurrent medicine checking (demonstrates ExecutorService)
     private final ExecutorService medicineCheckerPool = Executors.newFixedThreadPool(4);
 
+    // Queue depth, active threads and completed tasks as executor.* tagged name=medicineCheckerPool
+    @PostConstruct
+    void bindPoolMetrics() {
+        new ExecutorServiceMetrics(medicineCheckerPool, "medicineCheckerPool", Tags.empty()).bindTo(meterRegistry);
+    }
+
     /**
      * Scheduled Task 1: Check for upcoming medicine doses every minute
      * Runs on a background thread managed by Spring's TaskScheduler
@@ -50,13 +69,14 @@ public class BackgroundTaskService {
      */
     @Scheduled(cron = "0 * * * * *")
     public void checkUpcomingMedicines() {
-        logger.info("[Thread: " + Thread.currentThread().getName() + "] Checking upcoming medicines...");
+        logger.fine(() -> "[Thread: " + Thread.currentThread().getName() + "] Checking upcoming medicines...");
 
         LocalTime now = LocalTime.now();
         LocalDate today = LocalDate.now();
         DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
 
-        List<Medicine> activeMedicines = medicineRepository.findAll().stream()
+        List<Medicine> allMedicines = medicineRepository.findAll();
+        List<Medicine> activeMedicines = allMedicines.stream()
                 .filter(m -> m.isActive())
                 .filter(m -> m.getStartDate() == null || !today.isBefore(m.getStartDate()))
                 .filter(m -> m.getEndDate() == null || !today.isAfter(m.getEndDate()))
@@ -67,7 +87,8 @@ public class BackgroundTaskService {
             medicineCheckerPool.submit(() -> checkMedicineTime(medicine, now, timeFormatter));
         }
 
-        logger.info("[Thread: " + Thread.currentThread().getName() + "] Scheduled " + activeMedicines.size() + " medicine checks");
+        jobMetrics.rows("checkUpcomingMedicines", allMedicines.size(), 0);
+        logger.fine(() -> "[Thread: " + Thread.currentThread().getName() + "] Scheduled " + activeMedicines.size() + " medicine checks");
     }
 
     /**
@@ -83,7 +104,7 @@ public class BackgroundTaskService {
         checkTimeSlot(medicine, medicine.getTime3(), medicine.isTime3Taken(), now, formatter, threadName);
     }
 
-    private void checkTimeSlot(Medicine medicine, String timeSlot, boolean taken, LocalTime now, DateTimeFormatter formatter, String threadName) {
+    void checkTimeSlot(Medicine medicine, String timeSlot, boolean taken, LocalTime now, DateTimeFormatter formatter, String threadName) {
         if (timeSlot != null && !timeSlot.isEmpty() && !taken) {
             try {
                 LocalTime medicineTime = LocalTime.parse(timeSlot, formatter);
@@ -91,7 +112,7 @@ public class BackgroundTaskService {
                 if (now.isAfter(medicineTime.minusMinutes(5)) && now.isBefore(medicineTime.plusMinutes(5))) {
                     String notification = "Time to take " + medicine.getName() + " (" + medicine.getDosage() + ")";
                     pendingNotifications.put(medicine.getId(), notification);
-                    logger.info("[Thread: " + threadName + "] Queued notification: " + notification);
+                    logger.fine(() -> "[Thread: " + threadName + "] Queued notification: " + notification);
                 }
             } catch (Exception e) {
                 // Invalid time format, skip
@@ -105,7 +126,7 @@ public class BackgroundTaskService {
      */
     @Scheduled(cron = "0 0 0 * * *")
     public void resetDailyMedicineTracking() {
-        logger.info("[Thread: " + Thread.currentThread().getName() + "] Midnight reset - Resetting daily medicine tracking...");
+        logger.fine(() -> "[Thread: " + Thread.currentThread().getName() + "] Midnight reset - Resetting daily medicine tracking...");
 
         List<Medicine> allMedicines = medicineRepository.findAll();
         int resetCount = 0;
@@ -121,7 +142,19 @@ public class BackgroundTaskService {
             }
         }
 
-        logger.info("[Thread: " + Thread.currentThread().getName() + "] Reset " + resetCount + " medicines for new day");
+        jobMetrics.rows("resetDailyMedicineTracking", allMedicines.size(), resetCount);
+        logger.info("Reset " + resetCount + " medicines for new day");
+    }
+
+    /**
+     * Scheduled Task: Roll over daily water intake at midnight
+     * A single bulk UPDATE instead of the client resetting its own counter
+     */
+    @Scheduled(cron = "0 0 0 * * *")
+    public void resetDailyWaterIntake() {
+        int resetCount = activityCounterService.resetDailyWaterIntake();
+        jobMetrics.rows("resetDailyWaterIntake", resetCount, resetCount);
+        logger.info("Reset water intake for " + resetCount + " users");
     }
 
     /**
@@ -130,21 +163,22 @@ public class BackgroundTaskService {
      */
     @Scheduled(cron = "0 0 6 * * *")
     public void calculateDailyHealthSummaries() {
-        logger.info("[Thread: " + Thread.currentThread().getName() + "] Calculating daily health summaries...");
+        logger.fine(() -> "[Thread: " + Thread.currentThread().getName() + "] Calculating daily health summaries...");
 
         List<User> users = userRepository.findAll();
+        jobMetrics.rows("calculateDailyHealthSummaries", users.size(), 0);
 
         // Process each user's health summary concurrently
         users.forEach(user -> medicineCheckerPool.submit(() -> {
             String threadName = Thread.currentThread().getName();
-            logger.info("[Thread: " + threadName + "] Processing health summary for user: " + user.getUsername());
+            logger.fine(() -> "[Thread: " + threadName + "] Processing health summary for user: " + user.getUsername());
 
             // Calculate BMI category for logging
             double bmi = user.getBmi();
             String category = user.getBmiCategory();
             int recommendedCalories = user.getRecommendedCalories();
 
-            logger.info("[Thread: " + threadName + "] User " + user.getUsername() + 
+            logger.fine(() -> "[Thread: " + threadName + "] User " + user.getUsername() +
                     " - BMI: " + String.format("%.1f", bmi) + 
                     " (" + category + "), Recommended: " + recommendedCalories + " cal");
         }));
@@ -156,13 +190,19 @@ public class BackgroundTaskService {
      */
     @Async
     public CompletableFuture<Double> calculateAdherenceAsync(Long userId) {
-        logger.info("[Thread: " + Thread.currentThread().getName() + "] Async adherence calculation for user: " + userId);
+        logger.fine(() -> "[Thread: " + Thread.currentThread().getName() + "] Async adherence calculation for user: " + userId);
 
-        List<Medicine> medicines = medicineRepository.findByUserId(userId);
-        if (medicines.isEmpty()) {
-            return CompletableFuture.completedFuture(100.0);
-        }
+        double adherence = adherence(medicineRepository.findByUserId(userId));
+        logger.fine(() -> "[Thread: " + Thread.currentThread().getName() + "] Adherence for user " + userId + ": " + adherence + "%");
 
+        return CompletableFuture.completedFuture(adherence);
+    }
+
+    /**
+     * Percentage of today's scheduled doses of the active medicines that
+     * have been taken; 100 when nothing is scheduled
+     */
+    public static double adherence(List<Medicine> medicines) {
         long totalDoses = 0;
         long takenDoses = 0;
 
@@ -183,10 +223,7 @@ public class BackgroundTaskService {
             }
         }
 
-        double adherence = totalDoses > 0 ? (takenDoses * 100.0 / totalDoses) : 100.0;
-        logger.info("[Thread: " + Thread.currentThread().getName() + "] Adherence for user " + userId + ": " + adherence + "%");
-
-        return CompletableFuture.completedFuture(adherence);
+        return totalDoses > 0 ? (takenDoses * 100.0 / totalDoses) : 100.0;
     }
 
     /**
@@ -195,7 +232,7 @@ public class BackgroundTaskService {
      */
     @Async
     public CompletableFuture<String> processMealSuggestionsAsync(Long userId, List<String> ingredients) {
-        logger.info("[Thread: " + Thread.currentThread().getName() + "] Async meal processing for user: " + userId);
+        logger.fine(() -> "[Thread: " + Thread.currentThread().getName() + "] Async meal processing for user: " + userId);
 
         // Simulate processing time for complex meal matching
         try {
@@ -205,7 +242,7 @@ public class BackgroundTaskService {
         }
 
         String result = "Processed " + ingredients.size() + " ingredients for user " + userId;
-        logger.info("[Thread: " + Thread.currentThread().getName() + "] " + result);
+        logger.fine(() -> "[Thread: " + Thread.currentThread().getName() + "] " + result);
 
         return CompletableFuture.completedFuture(result);
     }
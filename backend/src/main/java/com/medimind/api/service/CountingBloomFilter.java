@@ -0,0 +1,86 @@
+package com.medimind.api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Counting Bloom filter over strings.
+ *
+ * Each slot is a counter rather than a bit, so entries can be removed again
+ * (renames, deleted accounts). mightContain() never returns a false negative
+ * as long as every remove() matches an earlier add().
+ */
+public class CountingBloomFilter {
+
+    private final AtomicIntegerArray counters;
+    private final int hashFunctions;
+
+    /**
+     * Size the filter for the expected number of entries and false positive rate.
+     */
+    public CountingBloomFilter(long expectedEntries, double falsePositiveRate) {
+        long n = Math.max(1, expectedEntries);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int size = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(64, m));
+        this.counters = new AtomicIntegerArray(size);
+        this.hashFunctions = Math.max(1, (int) Math.round((double) size / n * Math.log(2)));
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashFunctions; i++) {
+            counters.incrementAndGet(index(h1, h2, i));
+        }
+    }
+
+    public void remove(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashFunctions; i++) {
+            // Never go below zero, even for a remove without a matching add
+            counters.getAndUpdate(index(h1, h2, i), c -> c > 0 ? c - 1 : 0);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashFunctions; i++) {
+            if (counters.get(index(h1, h2, i)) == 0) return false;
+        }
+        return true;
+    }
+
+    public int size() {
+        return counters.length();
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    // Double hashing (Kirsch-Mitzenmacher): k indexes from two 32-bit halves
+    private int index(int h1, int h2, int i) {
+        int combined = h1 + i * h2;
+        return (combined & Integer.MAX_VALUE) % counters.length();
+    }
+
+    // 64-bit FNV-1a with a final avalanche mix
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
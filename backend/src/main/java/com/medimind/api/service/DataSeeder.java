@@ -0,0 +1,416 @@
+package com.medimind.api.service;
+
+import com.medimind.api.model.MoodCountsConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Synthetic dataset for scale tests, active only under the "seed" profile:
+ *
+ *   java -jar api-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=seed \
+ *        --medimind.seed.users=100000 --medimind.seed.days=30
+ *
+ * Each user gets 1-3 medicines with 1-3 dose slots, 2-4 meals a day and a
+ * journal entry on roughly a third of the days, over the last N days.
+ * The derived tables (journal tags, mood observations and rollups) are
+ * filled too, so every endpoint sees consistent data.
+ *
+ * Users are written in chunks of medimind.seed.batch-size by a pool of
+ * medimind.seed.threads workers, one transaction and one JDBC batch per
+ * table per chunk. Every user draws from its own SplittableRandom derived
+ * from medimind.seed.seed and the user's index, so a given seed produces
+ * the same data whatever the thread count; dates are relative to today.
+ * Seeding finishes before ApplicationReadyEvent, so the leaderboard and
+ * the availability filter are built over the seeded users. A database that
+ * already holds the first seeded user is left alone.
+ */
+@Component
+@Profile("seed")
+public class DataSeeder implements ApplicationRunner {
+
+    private static final Logger logger = Logger.getLogger(DataSeeder.class.getName());
+
+    public static final String USERNAME_PREFIX = "seed";
+    public static final String PASSWORD = "password123";
+
+    private static final String[][] MEDICINES = {
+            {"Metformin", "500mg"}, {"Vitamin D", "1000IU"}, {"Atorvastatin", "20mg"}, {"Lisinopril", "10mg"},
+            {"Omeprazole", "20mg"}, {"Amlodipine", "5mg"}, {"Levothyroxine", "50mcg"}, {"Paracetamol", "500mg"},
+            {"Vitamin C", "500mg"}, {"Iron", "65mg"}, {"Cetirizine", "10mg"}, {"Salbutamol", "100mcg"}
+    };
+    private static final int[] SLOT_HOURS = {8, 14, 21};
+
+    private static final String[] FOODS = {
+            "rice", "dal", "chicken curry", "fish fry", "egg", "roti", "salad", "banana", "apple", "yogurt",
+            "bread", "oatmeal", "paneer", "mixed vegetables", "noodles", "milk tea", "beef", "samosa", "orange", "pasta"
+    };
+    private static final int[] FOOD_CALORIES = {
+            200, 150, 300, 250, 80, 120, 50, 100, 95, 100, 150, 150, 260, 80, 220, 60, 280, 250, 60, 220
+    };
+    // Meal type and the hour it is usually logged
+    private static final String[] MEAL_TYPES = {"breakfast", "lunch", "dinner", "snack"};
+    private static final int[] MEAL_HOURS = {8, 13, 20, 17};
+
+    private static final String[] MOODS = {
+            "Happy 😊", "Stressed 😫", "Calm 😌", "Tired 😴", "Sad 😢", "Excited 🎉", "Anxious 😰", "Grateful 🙏"
+    };
+    private static final String[] TAGS = {"work", "sleep", "family", "exercise", "health", "gratitude", "stress", "friends"};
+    private static final String[] TITLES = {
+            "Morning thoughts", "Long day", "Feeling better", "Doctor visit", "Weekend", "Small wins", "Rough night", "Evening walk"
+    };
+    private static final String[] SENTENCES = {
+            "Woke up early and had a quiet breakfast.",
+            "Work was busy but I managed to finish the report.",
+            "Took all my medicines on time today.",
+            "Went for a walk in the park after dinner.",
+            "Had trouble sleeping last night and felt tired.",
+            "Called my family and we talked for an hour.",
+            "My blood sugar readings were better this week.",
+            "Felt anxious before the appointment but it went well.",
+            "Cooked a healthy meal with lots of vegetables.",
+            "Grateful for good friends who checked in on me.",
+            "Skipped the gym, planning to go tomorrow.",
+            "Drank more water than usual and felt more energetic."
+    };
+
+    private static final MoodCountsConverter MOOD_COUNTS = new MoodCountsConverter();
+
+    private static final String[] ALLERGIES = {"", "", "", "", "nuts", "seafood", "dairy", "gluten", "egg", "prawn"};
+    private static final String[] CONDITIONS = {"", "", "", "", "Diabetes", "Hypertension", "Heart disease", "Asthma", "Diabetes, Hypertension"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int users;
+    private final int days;
+    private final long seed;
+    private final int threads;
+    private final int batchSize;
+
+    public DataSeeder(PlatformTransactionManager transactionManager,
+                      @Value("${medimind.seed.users:1000}") int users,
+                      @Value("${medimind.seed.days:30}") int days,
+                      @Value("${medimind.seed.seed:42}") long seed,
+                      @Value("${medimind.seed.threads:0}") int threads,
+                      @Value("${medimind.seed.batch-size:500}") int batchSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.users = users;
+        this.days = Math.max(1, days);
+        this.seed = seed;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // Everything generated for one user before any of it is written
+    private static final class SeedUser {
+        Object[] row;
+        final List<Object[]> medicines = new ArrayList<>();
+        final List<Object[]> meals = new ArrayList<>();
+        final List<Object[]> journal = new ArrayList<>();
+        final Map<String, Integer> tagCounts = new TreeMap<>();
+        final Map<LocalDate, List<String>> moodsByDay = new TreeMap<>();
+    }
+
+    private final AtomicLong medicineRows = new AtomicLong();
+    private final AtomicLong mealRows = new AtomicLong();
+    private final AtomicLong journalRows = new AtomicLong();
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (users <= 0) return;
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE username_normalized = ?", Integer.class, username(0));
+        if (existing != null && existing > 0) {
+            logger.info("Seed data already present, skipping");
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        long started = System.nanoTime();
+        int chunks = (users + batchSize - 1) / batchSize;
+        AtomicInteger done = new AtomicInteger();
+        logger.info("Seeding " + users + " users over " + days + " days (seed " + seed + ", "
+                + threads + " threads, " + chunks + " chunks)");
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(chunks);
+            for (int from = 0; from < users; from += batchSize) {
+                int start = from;
+                int end = Math.min(users, from + batchSize);
+                futures.add(pool.submit(() -> {
+                    seedChunk(start, end, today);
+                    int finished = done.incrementAndGet();
+                    // Progress roughly every 10%
+                    if (finished % Math.max(1, chunks / 10) == 0 || finished == chunks) {
+                        logger.info("Seeded " + finished + "/" + chunks + " chunks");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    pool.shutdownNow();
+                    throw new IllegalStateException("Seeding failed", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        logger.info(String.format("Seeded %d users, %d medicines, %d meals, %d journal entries in %.1fs",
+                users, medicineRows.get(), mealRows.get(), journalRows.get(), seconds));
+    }
+
+    private static String username(int index) {
+        return String.format("%s%08d", USERNAME_PREFIX, index);
+    }
+
+    private SplittableRandom randomFor(int index) {
+        // Per-user stream: independent of chunking and thread scheduling
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+    }
+
+    private void seedChunk(int from, int to, LocalDate today) {
+        List<SeedUser> chunk = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            chunk.add(generate(i, randomFor(i), today));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("INSERT INTO users (full_name, username, email, username_normalized, email_normalized, "
+                    + "password, height, weight, target_weight, age, gender, allergies, conditions, notifications_enabled, "
+                    + "email_verified, daily_calorie_goal, water_intake, points, level, mood, streak, total_water_logs, "
+                    + "total_meals_logged, perfect_medicine_days, perfect_days, morning_logs, evening_logs, journal_entries) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    chunk.stream().map(u -> u.row).toList());
+
+            // Zero-padded usernames sort in index order
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM users WHERE username_normalized BETWEEN ? AND ? ORDER BY username_normalized",
+                    Long.class, username(from), username(to - 1));
+
+            List<Object[]> medicines = new ArrayList<>();
+            List<Object[]> meals = new ArrayList<>();
+            List<Object[]> journal = new ArrayList<>();
+            List<Object[]> tags = new ArrayList<>();
+            List<Object[]> rollups = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                SeedUser user = chunk.get(i);
+                Long userId = ids.get(i);
+                user.medicines.forEach(row -> medicines.add(withUserId(userId, row)));
+                user.meals.forEach(row -> meals.add(withUserId(userId, row)));
+                user.journal.forEach(row -> journal.add(withUserId(userId, row)));
+                user.tagCounts.forEach((tag, count) -> tags.add(new Object[] {userId, tag, count}));
+                addRollups(userId, user.moodsByDay, rollups);
+            }
+
+            jdbcTemplate.batchUpdate("INSERT INTO medicines (user_id, name, dosage, times, duration_days, start_date, end_date, "
+                    + "time1, time2, time3, time1taken, time2taken, time3taken, time, is_taken, active) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", medicines);
+            jdbcTemplate.batchUpdate("INSERT INTO meals (user_id, meal_type, food_items, calories, logged_at) "
+                    + "VALUES (?, ?, ?, ?, ?)", meals);
+            jdbcTemplate.batchUpdate("INSERT INTO journal_entries (user_id, title, content, mood, tags, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)", journal);
+            jdbcTemplate.batchUpdate("INSERT INTO journal_tags (user_id, name, entry_count) VALUES (?, ?, ?)", tags);
+            jdbcTemplate.batchUpdate("INSERT INTO mood_rollups (user_id, period, period_start, observations, journal_entries, "
+                    + "active_days, journal_streak, mood_counts) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rollups);
+
+            // Rows that reference generated entry ids are derived in SQL
+            String userRange = "SELECT id FROM users WHERE username_normalized BETWEEN ? AND ?";
+            for (String tag : TAGS) {
+                jdbcTemplate.update("INSERT INTO journal_entry_tags (entry_id, tag_id) "
+                        + "SELECT e.id, t.id FROM journal_entries e JOIN journal_tags t ON t.user_id = e.user_id AND t.name = ? "
+                        + "WHERE e.user_id IN (" + userRange + ") AND ',' || e.tags || ',' LIKE ?",
+                        tag, username(from), username(to - 1), "%," + tag + ",%");
+            }
+            jdbcTemplate.update("INSERT INTO mood_observations (user_id, mood, source, journal_entry_id, observed_at) "
+                    + "SELECT user_id, " + normalizedMoodCase() + ", 'JOURNAL', id, created_at FROM journal_entries "
+                    + "WHERE user_id IN (" + userRange + ")", username(from), username(to - 1));
+        });
+
+        chunk.forEach(u -> {
+            medicineRows.addAndGet(u.medicines.size());
+            mealRows.addAndGet(u.meals.size());
+            journalRows.addAndGet(u.journal.size());
+        });
+    }
+
+    private static Object[] withUserId(Long userId, Object[] row) {
+        Object[] withId = new Object[row.length + 1];
+        withId[0] = userId;
+        System.arraycopy(row, 0, withId, 1, row.length);
+        return withId;
+    }
+
+    // CASE mapping each display mood ("Happy 😊") to its normalized name ("Happy")
+    private static String normalizedMoodCase() {
+        StringBuilder sql = new StringBuilder("CASE mood");
+        for (String mood : MOODS) {
+            sql.append(" WHEN '").append(mood).append("' THEN '").append(MoodAnalyticsService.normalize(mood)).append('\'');
+        }
+        return sql.append(" END").toString();
+    }
+
+    private SeedUser generate(int index, SplittableRandom random, LocalDate today) {
+        String username = username(index);
+        String email = username + "@example.com";
+        String gender = random.nextInt(100) < 48 ? "Male" : random.nextInt(100) < 96 ? "Female" : "Other";
+        int age = 18 + random.nextInt(63);
+        double height = gender.equals("Male") ? 160 + random.nextInt(36) : 150 + random.nextInt(31);
+        double weight = Math.round((height - 100) * (0.75 + random.nextDouble() * 0.6));
+        double targetWeight = Math.round((height - 100) * 0.9);
+        int points = 50 + random.nextInt(3000);
+
+        SeedUser user = new SeedUser();
+        generateMedicines(user, random, today);
+        generateMeals(user, random, today);
+        generateJournal(user, random, today);
+
+        user.row = new Object[] {
+                "Seed User " + index, username, email, username.toLowerCase(Locale.ROOT), email.toLowerCase(Locale.ROOT),
+                PASSWORD, height, weight, targetWeight, age, gender,
+                ALLERGIES[random.nextInt(ALLERGIES.length)], CONDITIONS[random.nextInt(CONDITIONS.length)],
+                true, true, 1600 + 100 * random.nextInt(13), random.nextInt(9), points,
+                GamificationService.Level.forPoints(points).label,
+                MoodAnalyticsService.normalize(MOODS[random.nextInt(MOODS.length)]), random.nextInt(15),
+                random.nextInt(days * 6 + 1), user.meals.size(), random.nextInt(days + 1), random.nextInt(days + 1),
+                random.nextInt(days + 1), random.nextInt(days + 1), user.journal.size()
+        };
+        return user;
+    }
+
+    private void generateMedicines(SeedUser user, SplittableRandom random, LocalDate today) {
+        int count = 1 + random.nextInt(3);
+        for (int m = 0; m < count; m++) {
+            String[] medicine = MEDICINES[random.nextInt(MEDICINES.length)];
+            int slots = 1 + random.nextInt(3);
+            String[] times = new String[3];
+            for (int s = 0; s < slots; s++) {
+                times[s] = String.format("%02d:%02d", SLOT_HOURS[s] + random.nextInt(2), 15 * random.nextInt(4));
+            }
+            int duration = 7 + random.nextInt(84);
+            // Mostly running today; some finished or not started yet
+            LocalDate start = today.minusDays(random.nextInt(duration + 14) - 7L);
+            LocalDate end = start.plusDays(duration - 1L);
+            boolean active = !today.isAfter(end);
+            user.medicines.add(new Object[] {
+                    medicine[0], medicine[1], String.join(",", Arrays.asList(times).subList(0, slots)), duration, start, end,
+                    times[0], times[1], times[2],
+                    random.nextBoolean(), slots > 1 && random.nextBoolean(), slots > 2 && random.nextBoolean(),
+                    times[0], false, active
+            });
+        }
+    }
+
+    private void generateMeals(SeedUser user, SplittableRandom random, LocalDate today) {
+        for (int d = days - 1; d >= 0; d--) {
+            LocalDate day = today.minusDays(d);
+            int mealsToday = 2 + random.nextInt(3);
+            for (int m = 0; m < mealsToday; m++) {
+                int items = 1 + random.nextInt(3);
+                List<String> foods = new ArrayList<>(items);
+                int calories = 0;
+                for (int i = 0; i < items; i++) {
+                    int food = random.nextInt(FOODS.length);
+                    foods.add(FOODS[food]);
+                    calories += FOOD_CALORIES[food];
+                }
+                LocalDateTime loggedAt = day.atTime(LocalTime.of(MEAL_HOURS[m], random.nextInt(60)));
+                user.meals.add(new Object[] {MEAL_TYPES[m], String.join(", ", foods), calories, loggedAt});
+            }
+        }
+    }
+
+    private void generateJournal(SeedUser user, SplittableRandom random, LocalDate today) {
+        for (int d = days - 1; d >= 0; d--) {
+            if (random.nextInt(3) != 0) continue;
+            LocalDate day = today.minusDays(d);
+            String mood = MOODS[random.nextInt(MOODS.length)];
+
+            StringBuilder content = new StringBuilder();
+            int sentences = 2 + random.nextInt(5);
+            for (int s = 0; s < sentences; s++) {
+                if (s > 0) content.append(' ');
+                content.append(SENTENCES[random.nextInt(SENTENCES.length)]);
+            }
+
+            List<String> tags = new ArrayList<>();
+            int tagCount = random.nextInt(4);
+            while (tags.size() < tagCount) {
+                String tag = TAGS[random.nextInt(TAGS.length)];
+                if (!tags.contains(tag)) tags.add(tag);
+            }
+            tags.forEach(tag -> user.tagCounts.merge(tag, 1, Integer::sum));
+
+            LocalDateTime createdAt = day.atTime(LocalTime.of(19 + random.nextInt(4), random.nextInt(60)));
+            user.journal.add(new Object[] {
+                    TITLES[random.nextInt(TITLES.length)], content.toString(), mood,
+                    tags.isEmpty() ? null : String.join(",", tags), createdAt, createdAt
+            });
+            user.moodsByDay.computeIfAbsent(day, k -> new ArrayList<>()).add(MoodAnalyticsService.normalize(mood));
+        }
+    }
+
+    // Daily and weekly rows matching what MoodAnalyticsService maintains incrementally
+    private static void addRollups(Long userId, Map<LocalDate, List<String>> moodsByDay, List<Object[]> rollups) {
+        Map<LocalDate, int[]> weeks = new TreeMap<>();
+        Map<LocalDate, Map<String, Integer>> weekMoods = new TreeMap<>();
+        LocalDate previous = null;
+        int streak = 0;
+        for (Map.Entry<LocalDate, List<String>> e : moodsByDay.entrySet()) {
+            LocalDate day = e.getKey();
+            List<String> moods = e.getValue();
+            streak = previous != null && previous.plusDays(1).equals(day) ? streak + 1 : 1;
+            previous = day;
+
+            Map<String, Integer> counts = new TreeMap<>();
+            moods.forEach(m -> counts.merge(m, 1, Integer::sum));
+            rollups.add(new Object[] {userId, "DAY", day, moods.size(), moods.size(), 1, streak, moodCounts(counts)});
+
+            LocalDate week = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            int[] totals = weeks.computeIfAbsent(week, k -> new int[3]);
+            totals[0] += moods.size();
+            totals[1] += moods.size();
+            totals[2]++;
+            counts.forEach((m, c) -> weekMoods.computeIfAbsent(week, k -> new TreeMap<>()).merge(m, c, Integer::sum));
+        }
+        weeks.forEach((week, totals) -> rollups.add(new Object[] {
+                userId, "WEEK", week, totals[0], totals[1], totals[2], 0, moodCounts(weekMoods.get(week))
+        }));
+    }
+
+    private static String moodCounts(Map<String, Integer> counts) {
+        return MOOD_COUNTS.convertToDatabaseColumn(counts);
+    }
+}
@@ -0,0 +1,42 @@
+package com.medimind.api.service;
+
+import javax.naming.NameNotFoundException;
+import javax.naming.directory.Attribute;
+import javax.naming.directory.Attributes;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.InitialDirContext;
+import java.util.Hashtable;
+
+/**
+ * MxResolver over JNDI's DNS provider: MX records, falling back to an A
+ * record (mail may be delivered straight to the domain's host).
+ */
+public class DnsMxResolver implements MxResolver {
+
+    private final Hashtable<String, String> env = new Hashtable<>();
+
+    public DnsMxResolver(long timeoutMillis) {
+        env.put("java.naming.factory.initial", "com.sun.jndi.dns.DnsContextFactory");
+        env.put("com.sun.jndi.dns.timeout.initial", String.valueOf(timeoutMillis));
+        env.put("com.sun.jndi.dns.timeout.retries", "1");
+    }
+
+    @Override
+    public boolean acceptsMail(String domain) throws Exception {
+        DirContext ctx = new InitialDirContext(env);
+        try {
+            if (hasRecord(ctx, domain, "MX")) return true;
+            return hasRecord(ctx, domain, "A");
+        } catch (NameNotFoundException e) {
+            return false;
+        } finally {
+            ctx.close();
+        }
+    }
+
+    private static boolean hasRecord(DirContext ctx, String domain, String type) throws Exception {
+        Attributes attrs = ctx.getAttributes(domain, new String[]{type});
+        Attribute records = attrs.get(type);
+        return records != null && records.size() > 0;
+    }
+}
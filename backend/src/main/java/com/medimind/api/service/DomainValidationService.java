@@ -0,0 +1,194 @@
+package com.medimind.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+/**
+ * Checks that an email's domain can receive mail, without letting a slow
+ * DNS server stall signup.
+ *
+ * Well-known providers and disposable domains are answered from fixed
+ * lists. Other domains go to the MxResolver on a small pool; concurrent
+ * checks of one domain share a single lookup, and answers are cached (a
+ * "no" for less time than a "yes"). A caller waits at most the lookup
+ * timeout and then lets the address through; the lookup keeps running and
+ * its answer is cached for the next signup. Lookups beyond the pool's
+ * bounded queue are not run at all, and the address is let through.
+ */
+@Service
+public class DomainValidationService {
+
+    private static final Logger logger = Logger.getLogger(DomainValidationService.class.getName());
+
+    // Reject obviously fake/test domains
+    private static final Set<String> BLOCKED_DOMAINS = Set.of(
+        "test.com", "example.com", "fake.com", "temp.com",
+        "mailinator.com", "guerrillamail.com", "10minutemail.com",
+        "throwaway.com", "tempmail.com", "fakeinbox.com"
+    );
+
+    // Quick pass for well-known email providers
+    private static final Set<String> TRUSTED_DOMAINS = Set.of(
+        "gmail.com", "yahoo.com", "hotmail.com", "outlook.com",
+        "icloud.com", "mail.com", "protonmail.com", "aol.com",
+        "live.com", "msn.com", "ymail.com", "zoho.com",
+        "yahoo.co.uk", "hotmail.co.uk", "outlook.co.uk",
+        "googlemail.com", "me.com", "mac.com"
+    );
+
+    private record Verdict(boolean valid, long expiresAt) {}
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final MxResolver resolver;
+    private final long timeoutMillis;
+    private final long positiveTtlNanos;
+    private final long negativeTtlNanos;
+    private final ExecutorService lookupPool;
+
+    private final Map<String, Verdict> verdicts;
+    private final ConcurrentHashMap<String, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    public DomainValidationService(ObjectProvider<MxResolver> resolver,
+                                   @Value("${medimind.email.domain.lookup-timeout-ms:2000}") long timeoutMillis,
+                                   @Value("${medimind.email.domain.positive-ttl:24h}") Duration positiveTtl,
+                                   @Value("${medimind.email.domain.negative-ttl:10m}") Duration negativeTtl,
+                                   @Value("${medimind.email.domain.cache-size:10000}") int cacheSize,
+                                   @Value("${medimind.email.domain.lookup-threads:4}") int threads,
+                                   @Value("${medimind.email.domain.lookup-queue:100}") int queueSize) {
+        // The resolver's own DNS timeout bounds how long a pool thread is tied up
+        this.resolver = resolver.getIfAvailable(() -> new DnsMxResolver(3000));
+        this.timeoutMillis = timeoutMillis;
+        this.positiveTtlNanos = positiveTtl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        // Bounded, so a flood of signups for new domains cannot pile up lookups without limit
+        this.lookupPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize));
+        // Access-ordered LinkedHashMap drops the least recently checked domain when full
+        this.verdicts = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Verdict> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @PostConstruct
+    void init() {
+        new ExecutorServiceMetrics(lookupPool, "domainLookupPool", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lookupPool.shutdownNow();
+    }
+
+    /**
+     * Validate if email domain can receive email (MX records, or an A record)
+     * This catches fake domains like "fake@notreal123.com"
+     */
+    public boolean isValidEmailDomain(String email) {
+        if (email == null || !email.contains("@")) {
+            return false;
+        }
+
+        String domain = email.substring(email.indexOf("@") + 1).trim().toLowerCase(Locale.ROOT);
+        if (BLOCKED_DOMAINS.contains(domain)) {
+            logger.warning("Blocked disposable email domain: " + domain);
+            return false;
+        }
+        if (TRUSTED_DOMAINS.contains(domain)) {
+            return true;
+        }
+
+        Verdict verdict;
+        synchronized (verdicts) {
+            verdict = verdicts.get(domain);
+        }
+        if (verdict != null && verdict.expiresAt() - System.nanoTime() > 0) {
+            return verdict.valid();
+        }
+
+        // First caller starts the lookup; everyone else waits on the same future
+        CompletableFuture<Boolean> lookup = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = inFlight.putIfAbsent(domain, lookup);
+        if (running == null) {
+            running = lookup;
+            try {
+                lookupPool.execute(() -> resolve(domain, lookup));
+            } catch (RejectedExecutionException e) {
+                // Queue full (or shutting down): nothing is cached, so the next signup asks again
+                inFlight.remove(domain, lookup);
+                lookup.complete(true);
+                Counter.builder("medimind.email.domain.lookups").tag("result", "rejected").register(meterRegistry).increment();
+                logger.warning("Email domain lookup queue full, allowing " + domain + " unchecked");
+                return true;
+            }
+        }
+
+        try {
+            return running.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            Counter.builder("medimind.email.domain.timeouts").register(meterRegistry).increment();
+            logger.warning("Email domain lookup for " + domain + " took over " + timeoutMillis + "ms, allowing it");
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        } catch (ExecutionException e) {
+            return true;
+        }
+    }
+
+    private void resolve(String domain, CompletableFuture<Boolean> lookup) {
+        boolean valid;
+        String result;
+        try {
+            valid = resolver.acceptsMail(domain);
+            result = valid ? "valid" : "invalid";
+            if (valid) {
+                logger.info("Valid email domain: " + domain);
+            } else {
+                logger.warning("Email domain has no mail servers: " + domain);
+            }
+        } catch (Exception e) {
+            // Be lenient on network errors - allow the email, and ask again after the negative TTL
+            valid = true;
+            result = "error";
+            logger.warning("Could not verify email domain: " + domain + " - " + e.getMessage());
+        }
+        long ttl = result.equals("valid") ? positiveTtlNanos : negativeTtlNanos;
+        synchronized (verdicts) {
+            verdicts.put(domain, new Verdict(valid, System.nanoTime() + ttl));
+        }
+        // Cached before it leaves inFlight, so no caller can miss both and start a second lookup
+        inFlight.remove(domain, lookup);
+        lookup.complete(valid);
+        Counter.builder("medimind.email.domain.lookups").tag("result", result).register(meterRegistry).increment();
+    }
+}
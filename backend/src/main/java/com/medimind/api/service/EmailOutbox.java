@@ -0,0 +1,286 @@
+package com.medimind.api.service;
+
+import com.medimind.api.model.OutboxEmail;
+import com.medimind.api.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Transactional outbox for email. Callers queue a message inside their own
+ * transaction and return once it commits; a scheduled dispatcher sends due
+ * messages in batches, one SMTP connection per batch.
+ *
+ * A dispatcher claims rows by pushing nextAttemptAt one lease ahead, under
+ * SKIP LOCKED, so several instances never send the same row and a crashed
+ * one's rows come due again. Failures are retried with exponential backoff;
+ * after the last attempt, or once a message has expired, the row is DEAD.
+ */
+@Service
+public class EmailOutbox {
+
+    private static final Logger logger = Logger.getLogger(EmailOutbox.class.getName());
+
+    @Autowired(required = false)
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private EmailOutboxRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JobMetrics jobMetrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.mail.username:}")
+    private String fromEmail;
+
+    @Value("${spring.mail.password:}")
+    private String mailPassword;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration idleCheckInterval;
+    private final Duration retention;
+
+    private TransactionTemplate transactionTemplate;
+
+    // The table is only queried once this time has passed; a local enqueue resets it
+    private volatile long nextCheckMillis;
+    private final AtomicLong enqueued = new AtomicLong();
+
+    public EmailOutbox(@Value("${medimind.email.outbox.batch-size:50}") int batchSize,
+                       @Value("${medimind.email.outbox.max-attempts:5}") int maxAttempts,
+                       @Value("${medimind.email.outbox.initial-backoff:30s}") Duration initialBackoff,
+                       @Value("${medimind.email.outbox.max-backoff:30m}") Duration maxBackoff,
+                       @Value("${medimind.email.outbox.lease:5m}") Duration lease,
+                       @Value("${medimind.email.outbox.idle-check-interval:60s}") Duration idleCheckInterval,
+                       @Value("${medimind.email.outbox.retention:7d}") Duration retention) {
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.idleCheckInterval = idleCheckInterval;
+        this.retention = retention;
+    }
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Check if SMTP is configured; without it nothing is queued or sent
+     */
+    public boolean isConfigured() {
+        return mailSender != null && fromEmail != null && !fromEmail.isEmpty()
+               && mailPassword != null && !mailPassword.isEmpty();
+    }
+
+    /**
+     * Queue an HTML email. Joins the caller's transaction, so the email
+     * exists only if the change that prompted it commits. A message with
+     * validFor is dropped (DEAD) if it cannot be sent within that time.
+     */
+    @Transactional
+    public void enqueue(String to, String subject, String html, Duration validFor) {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEmail email = new OutboxEmail();
+        email.setRecipient(to);
+        email.setSubject(subject);
+        email.setBody(html);
+        email.setCreatedAt(now);
+        email.setNextAttemptAt(now);
+        email.setExpiresAt(validFor != null ? now.plus(validFor) : null);
+        repository.save(email);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueued.incrementAndGet();
+                nextCheckMillis = 0;
+            }
+        });
+    }
+
+    /**
+     * Scheduled Task: send due emails, a batch at a time until none are left
+     */
+    @Scheduled(fixedDelayString = "${medimind.email.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        if (!isConfigured() || System.currentTimeMillis() < nextCheckMillis) return;
+        long enqueuedBefore = enqueued.get();
+
+        int claimed = 0;
+        int sent = 0;
+        List<OutboxEmail> batch;
+        do {
+            batch = claim();
+            claimed += batch.size();
+            sent += deliver(batch.stream().filter(e -> e.getStatus() == OutboxEmail.Status.PENDING).toList());
+        } while (batch.size() == batchSize);
+
+        // Sleep until the next retry is due, but look again now and then for rows other instances left behind
+        long nextCheck = System.currentTimeMillis() + idleCheckInterval.toMillis();
+        var next = repository.findFirstByStatusOrderByNextAttemptAtAsc(OutboxEmail.Status.PENDING);
+        if (next.isPresent()) {
+            nextCheck = Math.min(nextCheck, next.get().getNextAttemptAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        nextCheckMillis = nextCheck;
+        // Something was queued while this run was busy
+        if (enqueued.get() != enqueuedBefore) nextCheckMillis = 0;
+
+        if (claimed > 0) jobMetrics.rows("dispatchEmailOutbox", claimed, sent);
+    }
+
+    // Lock the next due rows and lease them to this dispatcher; expired ones go straight to DEAD
+    private List<OutboxEmail> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEmail> due = repository.findDueForUpdate(OutboxEmail.Status.PENDING, now, PageRequest.of(0, batchSize));
+            for (OutboxEmail email : due) {
+                if (email.getExpiresAt() != null && now.isAfter(email.getExpiresAt())) {
+                    email.setStatus(OutboxEmail.Status.DEAD);
+                    email.setBody(null);
+                    email.setLastError(email.getLastError() != null
+                            ? "Expired after: " + email.getLastError() : "Expired before it could be sent");
+                    deliveries("dead").increment();
+                    logger.warning("Email " + email.getId() + " to " + email.getRecipient() + " expired undelivered");
+                } else {
+                    email.setAttempts(email.getAttempts() + 1);
+                    email.setNextAttemptAt(now.plus(lease));
+                }
+            }
+            return due;
+        });
+    }
+
+    // Send the claimed rows over one connection and record each outcome; returns the number sent
+    private int deliver(List<OutboxEmail> batch) {
+        if (batch.isEmpty()) return 0;
+        Map<MimeMessage, OutboxEmail> messages = new LinkedHashMap<>(); // MimeMessage keys compare by identity
+        Map<Long, String> failures = new HashMap<>();
+        for (OutboxEmail email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (Exception e) {
+                failures.put(email.getId(), e.toString());
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    messages.values().forEach(email -> failures.put(email.getId(), e.getMessage()));
+                }
+                e.getFailedMessages().forEach((message, cause) -> {
+                    OutboxEmail email = messages.get(message);
+                    if (email != null) failures.put(email.getId(), cause.toString());
+                });
+            } catch (MailException e) {
+                // Could not connect or authenticate: nothing in the batch went out
+                messages.values().forEach(email -> failures.put(email.getId(), e.getMessage()));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (OutboxEmail email : batch) {
+                String error = failures.get(email.getId());
+                if (error == null) {
+                    email.setStatus(OutboxEmail.Status.SENT);
+                    email.setSentAt(now);
+                    email.setBody(null);
+                    email.setLastError(null);
+                    deliveries("sent").increment();
+                    logger.info("Email " + email.getId() + " sent to: " + email.getRecipient());
+                } else if (email.getAttempts() >= maxAttempts) {
+                    email.setStatus(OutboxEmail.Status.DEAD);
+                    email.setBody(null);
+                    email.setLastError(truncate(error));
+                    deliveries("dead").increment();
+                    logger.severe("Giving up on email " + email.getId() + " to " + email.getRecipient()
+                            + " after " + email.getAttempts() + " attempts: " + error);
+                } else {
+                    email.setNextAttemptAt(now.plus(backoff(email.getAttempts())));
+                    email.setLastError(truncate(error));
+                    deliveries("retry").increment();
+                    logger.warning("Failed to send email " + email.getId() + " to " + email.getRecipient()
+                            + " (attempt " + email.getAttempts() + "), retrying at " + email.getNextAttemptAt() + ": " + error);
+                }
+                repository.save(email);
+            }
+        });
+        return batch.size() - failures.size();
+    }
+
+    private MimeMessage toMimeMessage(OutboxEmail email) throws Exception {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(fromEmail, "MediMind");
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+        return message;
+    }
+
+    // initialBackoff after the first failure, doubling each time up to maxBackoff
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    private Counter deliveries(String result) {
+        return Counter.builder("medimind.email.outbox.deliveries").tag("result", result).register(meterRegistry);
+    }
+
+    /**
+     * Scheduled Task: drop delivered emails once they are past the retention period
+     * DEAD rows are kept for inspection
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeSent() {
+        int deleted = repository.deleteByStatusCreatedBefore(OutboxEmail.Status.SENT, LocalDateTime.now().minus(retention));
+        jobMetrics.rows("purgeEmailOutbox", deleted, deleted);
+        logger.info("Purged " + deleted + " sent emails from the outbox");
+    }
+}
@@ -1,36 +1,27 @@
 package com.medimind.api.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import jakarta.mail.internet.MimeMessage;
 
+import java.time.Duration;
 import java.util.Random;
 import java.util.logging.Logger;
-import javax.naming.directory.Attributes;
-import javax.naming.directory.DirContext;
-import javax.naming.directory.InitialDirContext;
-import java.util.Hashtable;
 
 /**
  * Professional Email Service for MediMind
  * Sends beautiful HTML emails like Instagram/Facebook
+ * Emails go through the EmailOutbox, so callers never wait on SMTP
  */
 @Service
 public class EmailService {
 
     private static final Logger logger = Logger.getLogger(EmailService.class.getName());
 
-    @Autowired(required = false)
-    private JavaMailSender mailSender;
+    // Codes are valid for 10 minutes; an email still unsent by then is useless
+    private static final Duration CODE_VALIDITY = Duration.ofMinutes(10);
 
-    @Value("${spring.mail.username:}")
-    private String fromEmail;
-    
-    @Value("${spring.mail.password:}")
-    private String mailPassword;
+    @Autowired
+    private EmailOutbox emailOutbox;
 
     /**
      * Generate a 6-digit verification code
@@ -45,68 +36,42 @@ public class EmailService {
      * Check if email service is properly configured
      */
     public boolean isEmailConfigured() {
-        return mailSender != null && fromEmail != null && !fromEmail.isEmpty() 
-               && mailPassword != null && !mailPassword.isEmpty();
+        return emailOutbox.isConfigured();
     }
 
     /**
-     * Send professional HTML verification email
-     * Returns true if email was sent successfully
+     * Queue professional HTML verification email
+     * Returns true if the email was queued; it is sent once the caller's transaction commits
      */
     public boolean sendVerificationEmail(String toEmail, String verificationCode, String userName) {
-        logger.info("Sending verification email to: " + toEmail);
+        logger.info("Queueing verification email to: " + toEmail);
 
         if (!isEmailConfigured()) {
             logger.warning("EMAIL NOT CONFIGURED - Set MAIL_USERNAME and MAIL_PASSWORD");
             logger.warning("Verification code for " + toEmail + ": " + verificationCode);
             return false;
         }
-        
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail, "MediMind");
-            helper.setTo(toEmail);
-            helper.setSubject("Your MediMind verification code: " + verificationCode);
-            helper.setText(buildHtmlEmail(userName, verificationCode, "verify"), true);
 
-            mailSender.send(message);
-            logger.info("Verification email sent successfully to: " + toEmail);
-            return true;
-        } catch (Exception e) {
-            logger.severe("Failed to send email to " + toEmail + ": " + e.getMessage());
-            return false;
-        }
+        // The code is only in the body, which the outbox clears once the row is SENT or DEAD
+        emailOutbox.enqueue(toEmail, "Your MediMind verification code",
+                buildHtmlEmail(userName, verificationCode, "verify"), CODE_VALIDITY);
+        return true;
     }
 
     /**
-     * Send password reset email
+     * Queue password reset email
      */
     public boolean sendPasswordResetEmail(String toEmail, String resetCode, String userName) {
-        logger.info("Sending password reset email to: " + toEmail);
+        logger.info("Queueing password reset email to: " + toEmail);
 
         if (!isEmailConfigured()) {
             logger.warning("Email not configured - Reset code for " + toEmail + ": " + resetCode);
             return false;
         }
-        
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail, "MediMind");
-            helper.setTo(toEmail);
-            helper.setSubject("Reset your MediMind password");
-            helper.setText(buildHtmlEmail(userName, resetCode, "reset"), true);
 
-            mailSender.send(message);
-            logger.info("Password reset email sent to: " + toEmail);
-            return true;
-        } catch (Exception e) {
-            logger.severe("Failed to send password reset email: " + e.getMessage());
-            return false;
-        }
+        emailOutbox.enqueue(toEmail, "Reset your MediMind password",
+                buildHtmlEmail(userName, resetCode, "reset"), CODE_VALIDITY);
+        return true;
     }
 
     /**
@@ -184,83 +149,4 @@ public class EmailService {
             </html>
             """.formatted(title, userName, subtitle, code);
     }
-
-       /**
-     * Validate if email domain exists by checking DNS MX records
-     * MX records indicate the domain can receive emails
-     * This catches fake domains like "fake@notreal123.com"
-     */
-    public boolean isValidEmailDomain(String email) {
-        if (email == null || !email.contains("@")) {
-            return false;
-        }
-
-        String domain = email.substring(email.indexOf("@") + 1).toLowerCase();
-        
-        // Reject obviously fake/test domains
-        String[] blockedDomains = {
-            "test.com", "example.com", "fake.com", "temp.com", 
-            "mailinator.com", "guerrillamail.com", "10minutemail.com",
-            "throwaway.com", "tempmail.com", "fakeinbox.com"
-        };
-        
-        for (String blocked : blockedDomains) {
-            if (domain.equals(blocked)) {
-                logger.warning("Blocked disposable email domain: " + domain);
-                return false;
-            }
-        }
-
-        // Quick pass for well-known email providers
-        String[] trustedDomains = {
-            "gmail.com", "yahoo.com", "hotmail.com", "outlook.com", 
-            "icloud.com", "mail.com", "protonmail.com", "aol.com",
-            "live.com", "msn.com", "ymail.com", "zoho.com",
-            "yahoo.co.uk", "hotmail.co.uk", "outlook.co.uk",
-            "googlemail.com", "me.com", "mac.com"
-        };
-        
-        for (String trusted : trustedDomains) {
-            if (domain.equals(trusted)) {
-                return true;
-            }
-        }
-        
-        // For educational/corporate domains, check MX records
-        try {
-            // Check if domain has MX (Mail Exchange) records
-            // MX records mean the domain has mail servers and can receive email
-            Hashtable<String, String> env = new Hashtable<>();
-            env.put("java.naming.factory.initial", "com.sun.jndi.dns.DnsContextFactory");
-            env.put("com.sun.jndi.dns.timeout.initial", "3000");
-            env.put("com.sun.jndi.dns.timeout.retries", "1");
-            
-            DirContext ctx = new InitialDirContext(env);
-            Attributes attrs = ctx.getAttributes(domain, new String[]{"MX"});
-            ctx.close();
-            
-            // If MX records exist, the domain can receive emails
-            if (attrs.get("MX") != null && attrs.get("MX").size() > 0) {
-                logger.info("Valid email domain (has MX records): " + domain);
-                return true;
-            }
-            
-            // Some domains use A records instead of MX (fallback)
-            attrs = ctx.getAttributes(domain, new String[]{"A"});
-            if (attrs.get("A") != null) {
-                logger.info("Valid email domain (has A record): " + domain);
-                return true;
-            }
-            
-            logger.warning("Email domain has no mail servers: " + domain);
-            return false;
-            
-        } catch (javax.naming.NameNotFoundException e) {
-            logger.warning("Email domain does not exist: " + domain);
-            return false;
-        } catch (Exception e) {
-            logger.warning("Could not verify email domain: " + domain + " - " + e.getMessage());
-            // Be lenient on network errors - allow the email
-            return true;
-        }
-    }}
\ No newline at end of file
+}
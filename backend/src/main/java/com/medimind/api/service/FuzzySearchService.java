@@ -0,0 +1,172 @@
+package com.medimind.api.service;
+
+import com.medimind.api.model.JournalEntry;
+import com.medimind.api.model.Meal;
+import com.medimind.api.repository.JournalRepository;
+import com.medimind.api.repository.JournalText;
+import com.medimind.api.repository.MealFoodItems;
+import com.medimind.api.repository.MealRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Typo-tolerant search over journal text and meal food items, backed by
+ * one TrigramIndex per user and domain.
+ *
+ * A user's index is built from the database the first time it is needed
+ * and then kept current by the journal and meal write paths. Only the most
+ * recently used users are kept (medimind.fuzzy-index.max-users per
+ * domain); an evicted user is simply rebuilt on their next search.
+ */
+@Service
+public class FuzzySearchService {
+
+    public record Result(List<Long> ids, Optional<String> didYouMean) {}
+
+    @Autowired private JournalRepository journalRepository;
+    @Autowired private MealRepository mealRepository;
+
+    private final IndexCache journalIndexes;
+    private final IndexCache mealIndexes;
+
+    public FuzzySearchService(@Value("${medimind.fuzzy-index.max-users:1000}") int maxUsers) {
+        this.journalIndexes = new IndexCache(maxUsers);
+        this.mealIndexes = new IndexCache(maxUsers);
+    }
+
+    /** LRU of per-user indexes; the counters feed the cache.* meters. */
+    public static final class IndexCache {
+        private final Map<Long, TrigramIndex> entries;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        IndexCache(int maxUsers) {
+            this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, TrigramIndex> eldest) {
+                    if (size() > maxUsers) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        TrigramIndex get(Long userId, Function<Long, TrigramIndex> loader) {
+            synchronized (entries) {
+                TrigramIndex index = entries.get(userId);
+                if (index != null) {
+                    hits.increment();
+                    return index;
+                }
+            }
+            misses.increment();
+            // Build outside the lock; if two threads race, the first one installed
+            // wins and writers apply their change to that one
+            TrigramIndex loaded = loader.apply(userId);
+            synchronized (entries) {
+                TrigramIndex existing = entries.putIfAbsent(userId, loaded);
+                return existing != null ? existing : loaded;
+            }
+        }
+
+        public long getHitCount() {
+            return hits.sum();
+        }
+
+        public long getMissCount() {
+            return misses.sum();
+        }
+
+        public long getEvictionCount() {
+            return evictions.sum();
+        }
+
+        public int getSize() {
+            synchronized (entries) {
+                return entries.size();
+            }
+        }
+    }
+
+    public IndexCache getJournalIndexes() {
+        return journalIndexes;
+    }
+
+    public IndexCache getMealIndexes() {
+        return mealIndexes;
+    }
+
+    public void journalEntrySaved(JournalEntry entry) {
+        if (entry.getId() == null || entry.getUserId() == null) return;
+        index(journalIndexes, entry.getUserId(), this::loadJournal)
+                .put(entry.getId(), journalText(entry.getTitle(), entry.getContent(), entry.getTags()));
+    }
+
+    public void journalEntryDeleted(Long userId, Long entryId) {
+        index(journalIndexes, userId, this::loadJournal).remove(entryId);
+    }
+
+    public void mealSaved(Meal meal) {
+        if (meal.getId() == null || meal.getUser() == null) return;
+        index(mealIndexes, meal.getUser().getId(), this::loadMeals).put(meal.getId(), meal.getFoodItems());
+    }
+
+    public void mealDeleted(Long userId, Long mealId) {
+        index(mealIndexes, userId, this::loadMeals).remove(mealId);
+    }
+
+    /** Journal entry ids matching the query fuzzily, best first, plus a spelling suggestion. */
+    public Result searchJournal(Long userId, String query, double threshold, int limit) {
+        return search(index(journalIndexes, userId, this::loadJournal), query, threshold, limit);
+    }
+
+    /** Meal ids whose food items match the query fuzzily, best first, plus a spelling suggestion. */
+    public Result searchMeals(Long userId, String query, double threshold, int limit) {
+        return search(index(mealIndexes, userId, this::loadMeals), query, threshold, limit);
+    }
+
+    private static Result search(TrigramIndex index, String query, double threshold, int limit) {
+        List<Long> ids = index.search(query, threshold, limit).stream()
+                .map(TrigramIndex.DocMatch::docId)
+                .toList();
+        return new Result(ids, index.didYouMean(query, threshold));
+    }
+
+    private static TrigramIndex index(IndexCache cache, Long userId, Function<Long, TrigramIndex> loader) {
+        return cache.get(userId, loader);
+    }
+
+    private TrigramIndex loadJournal(Long userId) {
+        TrigramIndex index = new TrigramIndex();
+        for (JournalText entry : journalRepository.findTextByUserId(userId)) {
+            index.put(entry.getId(), journalText(entry.getTitle(), entry.getContent(), entry.getTags()));
+        }
+        return index;
+    }
+
+    private TrigramIndex loadMeals(Long userId) {
+        TrigramIndex index = new TrigramIndex();
+        for (MealFoodItems meal : mealRepository.findFoodItemsByUserId(userId)) {
+            index.put(meal.getId(), meal.getFoodItems());
+        }
+        return index;
+    }
+
+    private static String journalText(String title, String content, String tags) {
+        return String.join(" ",
+                title != null ? title : "",
+                content != null ? content : "",
+                tags != null ? tags.replace(',', ' ') : "");
+    }
+}
@@ -0,0 +1,333 @@
+package com.medimind.api.service;
+
+import com.medimind.api.model.UserAchievement;
+import com.medimind.api.repository.UserAchievementRepository;
+import com.medimind.api.repository.UserGamification;
+import com.medimind.api.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Server-side gamification: points, levels, daily streaks and achievements.
+ *
+ * Points only change through server events (daily claims and achievement
+ * unlocks), never through client updates. They are added with relative
+ * UPDATEs and a claim only matches a row not yet claimed today, so the
+ * database keeps them right however many instances are running. Every
+ * change is mirrored into a LeaderboardIndex, which is rebuilt from the
+ * users table at startup.
+ */
+@Service
+public class GamificationService {
+
+    private static final Logger logger = Logger.getLogger(GamificationService.class.getName());
+
+    public enum Level {
+        BRONZE("Bronze", 0), SILVER("Silver", 500), GOLD("Gold", 1500),
+        PLATINUM("Platinum", 3500), DIAMOND("Diamond", 7500);
+
+        public final String label;
+        public final int minPoints;
+
+        Level(String label, int minPoints) {
+            this.label = label;
+            this.minPoints = minPoints;
+        }
+
+        public static Level forPoints(int points) {
+            Level result = BRONZE;
+            for (Level level : values()) {
+                if (points >= level.minPoints) result = level;
+            }
+            return result;
+        }
+    }
+
+    // Same thresholds and rewards as the achievements shown in Badges.tsx
+    public enum Achievement {
+        HYDRATION_HERO("totalWaterLogs", 50, 100),
+        MEAL_MASTER("totalMealsLogged", 100, 150),
+        WEEK_WARRIOR("streak", 7, 50),
+        STREAK_LEGEND("streak", 30, 300),
+        CONSISTENCY_KING("streak", 60, 500),
+        MEDICINE_CHAMPION("perfectMedicineDays", 14, 200),
+        WELLNESS_EXPERT("points", 500, 100),
+        PERFECT_DAY_MASTER("perfectDays", 10, 250),
+        EARLY_BIRD("morningLogs", 20, 75),
+        NIGHT_OWL("eveningLogs", 20, 75),
+        HEALTH_SCHOLAR("journalEntries", 25, 125);
+
+        public final String stat;
+        public final int requirement;
+        public final int points;
+
+        Achievement(String stat, int requirement, int points) {
+            this.stat = stat;
+            this.requirement = requirement;
+            this.points = points;
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserAchievementRepository userAchievementRepository;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final LeaderboardIndex leaderboard = new LeaderboardIndex();
+
+    // Achievements already awarded, loaded lazily per user
+    private final ConcurrentHashMap<Long, Set<String>> awarded = new ConcurrentHashMap<>();
+
+    // Striped locks: keeps one instance from racing itself on a user's claim and awards; correctness
+    // across instances comes from the conditional and relative UPDATEs
+    private final Object[] locks = new Object[64];
+
+    public GamificationService() {
+        for (int i = 0; i < locks.length; i++) locks[i] = new Object();
+    }
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private Object lockFor(Long userId) {
+        return locks[(Long.hashCode(userId) & 0x7fffffff) % locks.length];
+    }
+
+    /**
+     * Rebuild the ranked index from persisted points.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildLeaderboard() {
+        leaderboard.clear();
+        try (Stream<UserGamification> users = userRepository.streamAllBy()) {
+            users.forEach(u -> leaderboard.update(u.getId(), u.getPoints()));
+        }
+        logger.info("Leaderboard rebuilt with " + leaderboard.size() + " users");
+    }
+
+    public void userRegistered(Long userId, int points) {
+        leaderboard.update(userId, points);
+    }
+
+    public void userDeleted(Long userId) {
+        leaderboard.remove(userId);
+        awarded.remove(userId);
+    }
+
+    /**
+     * Daily check-in. Continues the streak if the last claim was yesterday,
+     * otherwise starts over at 1, and awards the streak bonus.
+     * Returns empty if the user does not exist; "claimed" is false if the
+     * user already claimed today.
+     */
+    public Optional<Map<String, Object>> claimDaily(Long userId) {
+        synchronized (lockFor(userId)) {
+            // Read and update in one transaction, so streak and points change together or not at all
+            Claim claim = transactionTemplate.execute(status -> {
+                Optional<UserGamification> current = userRepository.findGamificationById(userId);
+                if (current.isEmpty()) return null;
+
+                UserGamification g = current.get();
+                LocalDate today = LocalDate.now();
+                LocalDate lastClaim = parseClaimDate(g.getLastClaimDate());
+                if (today.equals(lastClaim)) {
+                    return new Claim(g, false, g.getStreak(), 0, g.getPoints(), g.getLastClaimDate());
+                }
+
+                int streak = today.minusDays(1).equals(lastClaim) ? g.getStreak() + 1 : 1;
+                int bonus = streakBonus(streak);
+                String claimDate = LocalDateTime.now().toString();
+                if (userRepository.claimDaily(userId, bonus, streak, claimDate, today.toString()) == 0) {
+                    // Another instance claimed since the read
+                    UserGamification latest = userRepository.findGamificationById(userId).orElse(g);
+                    return new Claim(latest, false, latest.getStreak(), 0, latest.getPoints(), latest.getLastClaimDate());
+                }
+                return new Claim(g, true, streak, bonus, refreshLevel(userId), claimDate);
+            });
+            if (claim == null) return Optional.empty();
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            if (!claim.claimed()) {
+                response.put("claimed", false);
+                response.put("points", claim.points());
+                response.put("level", claim.before().getLevel());
+                response.put("streak", claim.streak());
+                response.put("lastClaimDate", claim.claimDate());
+                return Optional.of(response);
+            }
+
+            // Committed: now the in-memory views may follow
+            resourceVersionService.bump(userId, ResourceVersionService.Resource.PROFILE);
+            leaderboard.update(userId, claim.points());
+
+            Map<String, Object> stats = Map.of("streak", claim.streak(), "points", claim.points());
+            List<String> unlocked = awardAchievements(userId, stats);
+
+            UserGamification updated = userRepository.findGamificationById(userId).orElse(claim.before());
+            response.put("claimed", true);
+            response.put("bonus", claim.bonus());
+            response.put("points", updated.getPoints());
+            response.put("level", updated.getLevel());
+            response.put("streak", claim.streak());
+            response.put("lastClaimDate", claim.claimDate());
+            response.put("unlockedAchievements", unlocked);
+            return Optional.of(response);
+        }
+    }
+
+    private record Claim(UserGamification before, boolean claimed, int streak, int bonus, int points, String claimDate) {}
+
+    /**
+     * Called with a user's latest activity counters; awards any achievement
+     * whose requirement is now met. Returns the names of newly unlocked ones.
+     */
+    public List<String> checkAchievements(Long userId, Map<String, Object> stats) {
+        // Cheap pre-check so the common case takes no lock
+        boolean candidate = false;
+        for (Achievement a : Achievement.values()) {
+            if (meets(a, stats) && !awardedFor(userId).contains(a.name())) {
+                candidate = true;
+                break;
+            }
+        }
+        if (!candidate) return List.of();
+
+        synchronized (lockFor(userId)) {
+            return awardAchievements(userId, stats);
+        }
+    }
+
+    // Must be called holding the user's lock, outside any transaction: each award commits on its own
+    private List<String> awardAchievements(Long userId, Map<String, Object> stats) {
+        List<String> unlocked = new ArrayList<>();
+        Map<String, Object> current = new LinkedHashMap<>(stats);
+        boolean progress = true;
+
+        // Loop because one unlock can push points over WELLNESS_EXPERT
+        while (progress) {
+            progress = false;
+            for (Achievement a : Achievement.values()) {
+                Set<String> done = awardedFor(userId);
+                if (!meets(a, current) || done.contains(a.name())) continue;
+
+                // The achievement row and its points commit together, so an award is never half done
+                Integer points;
+                try {
+                    points = transactionTemplate.execute(status -> {
+                        if (userRepository.addPoints(userId, a.points) == 0) return null;
+
+                        UserAchievement row = new UserAchievement();
+                        row.setUserId(userId);
+                        row.setAchievement(a.name());
+                        row.setPointsAwarded(a.points);
+                        row.setAwardedAt(LocalDateTime.now());
+                        userAchievementRepository.save(row);
+                        return refreshLevel(userId);
+                    });
+                } catch (DataIntegrityViolationException e) {
+                    // Already awarded (unique user/achievement), e.g. by another node; this attempt rolled back
+                    done.add(a.name());
+                    continue;
+                }
+                if (points == null) return unlocked;
+
+                // Committed: now the in-memory views may follow
+                done.add(a.name());
+                resourceVersionService.bump(userId, ResourceVersionService.Resource.PROFILE);
+                leaderboard.update(userId, points);
+
+                unlocked.add(a.name());
+                current.put("points", points);
+                progress = true;
+            }
+        }
+        return unlocked;
+    }
+
+    // Inside the transaction that just added points: the row is locked by that UPDATE, so the level
+    // is set from the total including every award committed before it. Returns that total.
+    private int refreshLevel(Long userId) {
+        UserGamification g = userRepository.findGamificationById(userId).orElseThrow();
+        String level = Level.forPoints(g.getPoints()).label;
+        if (!level.equals(g.getLevel())) userRepository.updateLevel(userId, level);
+        return g.getPoints();
+    }
+
+    private static boolean meets(Achievement a, Map<String, Object> stats) {
+        Object value = stats.get(a.stat);
+        return value instanceof Number n && n.intValue() >= a.requirement;
+    }
+
+    private Set<String> awardedFor(Long userId) {
+        return awarded.computeIfAbsent(userId, id -> userAchievementRepository.findByUserIdOrderByAwardedAtAsc(id).stream()
+                .map(UserAchievement::getAchievement)
+                .collect(Collectors.toCollection(ConcurrentHashMap::newKeySet)));
+    }
+
+    public List<UserAchievement> getAchievements(Long userId) {
+        return userAchievementRepository.findByUserIdOrderByAwardedAtAsc(userId);
+    }
+
+    public long getRank(Long userId) {
+        return leaderboard.rank(userId);
+    }
+
+    public long getRankedUserCount() {
+        return leaderboard.size();
+    }
+
+    public List<LeaderboardIndex.Entry> getLeaderboard(long fromRank, int limit) {
+        return leaderboard.page(fromRank, limit);
+    }
+
+    // Same bonus table the Badges page shows
+    static int streakBonus(int streak) {
+        if (streak >= 60) return 100;
+        if (streak >= 30) return 50;
+        if (streak >= 14) return 25;
+        if (streak >= 7) return 15;
+        return 5;
+    }
+
+    // Accepts plain dates and the ISO timestamps older clients stored
+    private static LocalDate parseClaimDate(String value) {
+        if (value == null || value.length() < 10) return null;
+        try {
+            return LocalDate.parse(value.substring(0, 10));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
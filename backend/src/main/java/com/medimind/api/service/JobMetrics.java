@@ -0,0 +1,30 @@
+package com.medimind.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Row counters for the scheduled jobs. Spring already times every
+ * @Scheduled method as tasks.scheduled.execution; these record how much
+ * work each run did, as medimind.job.rows.scanned / .updated tagged with
+ * the job name.
+ */
+@Component
+public class JobMetrics {
+
+    private final MeterRegistry registry;
+
+    public JobMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void rows(String job, long scanned, long updated) {
+        counter("medimind.job.rows.scanned", job).increment(scanned);
+        counter("medimind.job.rows.updated", job).increment(updated);
+    }
+
+    private Counter counter(String name, String job) {
+        return Counter.builder(name).tag("job", job).register(registry);
+    }
+}
@@ -0,0 +1,414 @@
+package com.medimind.api.service;
+
+import com.medimind.api.model.JournalEntry;
+import com.medimind.api.repository.JournalRepository;
+import com.medimind.api.repository.JournalStats;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-process inverted index over journal entries, one per user.
+ *
+ * Each user's postings live in a TreeMap keyed by stemmed term, so prefix
+ * queries ("anx*") are a subMap range scan. Queries are ranked with BM25;
+ * title and tag terms count double. JournalController keeps the index in
+ * step with adds, edits and deletes.
+ *
+ * Segments are written to medimind.journal-index.dir in the background and
+ * reused on the next load only if the entry count, id sum and newest
+ * updatedAt still match the database - otherwise the user's index is
+ * rebuilt from their entries. Idle users are dropped from memory and
+ * reloaded from their segment on the next search.
+ */
+@Service
+public class JournalSearchIndex {
+
+    private static final Logger logger = Logger.getLogger(JournalSearchIndex.class.getName());
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int TAG_WEIGHT = 2;
+    private static final int MAX_PREFIX_EXPANSION = 64;
+
+    private static final int SEGMENT_MAGIC = 0x4D4A5349; // "MJSI"
+    private static final int SEGMENT_VERSION = 1;
+
+    @Autowired
+    private JournalRepository journalRepository;
+
+    @Autowired
+    private JobMetrics jobMetrics;
+
+    private final Path directory;
+    private final long idleEvictMillis;
+
+    private final Map<Long, UserIndex> indexes = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public JournalSearchIndex(@Value("${medimind.journal-index.dir:${java.io.tmpdir}/medimind-journal-index}") String directory,
+                              @Value("${medimind.journal-index.idle-evict-ms:1800000}") long idleEvictMillis) {
+        this.directory = prepareDirectory(directory);
+        this.idleEvictMillis = idleEvictMillis;
+    }
+
+    // A blank or unusable directory just means indexes are always rebuilt from the database
+    private static Path prepareDirectory(String directory) {
+        if (directory == null || directory.isBlank()) return null;
+        try {
+            return Files.createDirectories(Path.of(directory));
+        } catch (IOException e) {
+            logger.warning("Journal index directory unusable, segments disabled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Term frequencies of a single entry
+    private static final class Doc {
+        final Map<String, Integer> termFreqs;
+        final int length;
+        final long updatedAt;
+
+        Doc(Map<String, Integer> termFreqs, long updatedAt) {
+            this.termFreqs = termFreqs;
+            this.updatedAt = updatedAt;
+            int total = 0;
+            for (int tf : termFreqs.values()) total += tf;
+            this.length = total;
+        }
+    }
+
+    private static final class UserIndex {
+        final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        final Map<Long, Doc> docs = new HashMap<>();
+        long totalLength;
+        volatile long lastAccess = System.currentTimeMillis();
+
+        void put(long entryId, Doc doc) {
+            remove(entryId);
+            docs.put(entryId, doc);
+            totalLength += doc.length;
+            doc.termFreqs.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(entryId, tf));
+        }
+
+        void remove(long entryId) {
+            Doc old = docs.remove(entryId);
+            if (old == null) return;
+            totalLength -= old.length;
+            for (String term : old.termFreqs.keySet()) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(entryId);
+                    if (posting.isEmpty()) postings.remove(term);
+                }
+            }
+        }
+
+        long idSum() {
+            long sum = 0;
+            for (long id : docs.keySet()) sum += id;
+            return sum;
+        }
+
+        long lastUpdated() {
+            long max = -1;
+            for (Doc doc : docs.values()) max = Math.max(max, doc.updatedAt);
+            return max;
+        }
+    }
+
+    /** Add or replace an entry after it has been saved. */
+    public void indexEntry(JournalEntry entry) {
+        if (entry.getId() == null || entry.getUserId() == null) return;
+        UserIndex index = index(entry.getUserId());
+        Doc doc = toDoc(entry);
+        synchronized (index) {
+            index.put(entry.getId(), doc);
+        }
+        dirty.add(entry.getUserId());
+    }
+
+    /** Drop an entry after it has been deleted. */
+    public void removeEntry(Long userId, Long entryId) {
+        UserIndex index = index(userId);
+        synchronized (index) {
+            index.remove(entryId);
+        }
+        dirty.add(userId);
+    }
+
+    /**
+     * Ranked entry ids for a query, best first. Whitespace-separated terms
+     * are OR-ed and scored with BM25; a trailing '*' makes a term a prefix
+     * match. Empty if the query has no indexable terms (only stopwords or
+     * punctuation), so callers can fall back to a substring search.
+     */
+    public Optional<List<Long>> search(Long userId, String query, int limit) {
+        List<List<String>> clauses = new ArrayList<>();
+        List<String> prefixes = new ArrayList<>();
+        for (String raw : query.trim().split("\\s+")) {
+            if (raw.endsWith("*")) {
+                List<String> tokens = JournalTextAnalyzer.tokenize(raw.substring(0, raw.length() - 1));
+                if (!tokens.isEmpty()) prefixes.add(tokens.get(0));
+            } else {
+                for (String term : JournalTextAnalyzer.analyze(raw)) {
+                    clauses.add(List.of(term));
+                }
+            }
+        }
+        if (clauses.isEmpty() && prefixes.isEmpty()) return Optional.empty();
+
+        UserIndex index = index(userId);
+        Map<Long, Double> scores = new HashMap<>();
+        synchronized (index) {
+            for (String prefix : prefixes) {
+                List<String> expansion = new ArrayList<>();
+                for (String term : index.postings.subMap(prefix, prefix + Character.MAX_VALUE).keySet()) {
+                    if (expansion.size() == MAX_PREFIX_EXPANSION) break;
+                    expansion.add(term);
+                }
+                clauses.add(expansion);
+            }
+
+            int docCount = index.docs.size();
+            if (docCount == 0) return Optional.of(List.of());
+            double avgLength = (double) index.totalLength / docCount;
+
+            for (List<String> clause : clauses) {
+                // A prefix clause scores its best-matching expansion per entry,
+                // so a common prefix does not outweigh an exact term
+                Map<Long, Double> clauseScores = new HashMap<>();
+                for (String term : clause) {
+                    Map<Long, Integer> posting = index.postings.get(term);
+                    if (posting == null) continue;
+                    double idf = Math.log(1 + (docCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                    posting.forEach((entryId, tf) -> {
+                        double norm = K1 * (1 - B + B * index.docs.get(entryId).length / avgLength);
+                        clauseScores.merge(entryId, idf * tf * (K1 + 1) / (tf + norm), Math::max);
+                    });
+                }
+                clauseScores.forEach((entryId, score) -> scores.merge(entryId, score, Double::sum));
+            }
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+        // Ties go to the newer entry
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()));
+        List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return Optional.of(ids);
+    }
+
+    // Write changed segments and release users nobody has searched for a while
+    @Scheduled(fixedDelayString = "${medimind.journal-index.flush-interval-ms:30000}")
+    public void persistDirty() {
+        List<Long> users = List.copyOf(dirty);
+        int written = 0;
+        for (Long userId : users) {
+            dirty.remove(userId);
+            UserIndex index = indexes.get(userId);
+            if (index != null) {
+                writeSegment(userId, index);
+                written++;
+            }
+        }
+        jobMetrics.rows("persistJournalIndex", users.size(), written);
+
+        long cutoff = System.currentTimeMillis() - idleEvictMillis;
+        indexes.entrySet().removeIf(e -> {
+            boolean idle = e.getValue().lastAccess < cutoff && !dirty.contains(e.getKey());
+            if (idle) evictions.increment();
+            return idle;
+        });
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int getSize() {
+        return indexes.size();
+    }
+
+    @PreDestroy
+    public void persistAll() {
+        for (Long userId : List.copyOf(dirty)) {
+            dirty.remove(userId);
+            UserIndex index = indexes.get(userId);
+            if (index != null) writeSegment(userId, index);
+        }
+    }
+
+    private UserIndex index(Long userId) {
+        UserIndex index = indexes.get(userId);
+        if (index != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            // Loading outside the map keeps other users unblocked; if two threads
+            // race, the first one installed wins and writers apply to that one
+            UserIndex loaded = load(userId);
+            index = indexes.putIfAbsent(userId, loaded);
+            if (index == null) index = loaded;
+        }
+        index.lastAccess = System.currentTimeMillis();
+        return index;
+    }
+
+    private UserIndex load(Long userId) {
+        JournalStats stats = journalRepository.getStatsByUserId(userId);
+        long lastUpdated = toMillis(stats.getLastUpdated());
+
+        if (stats.getEntryCount() == 0) {
+            deleteSegment(userId);
+            return new UserIndex();
+        }
+
+        UserIndex fromDisk = readSegment(userId, stats.getEntryCount(), stats.getIdSum(), lastUpdated);
+        if (fromDisk != null) return fromDisk;
+
+        UserIndex rebuilt = new UserIndex();
+        for (JournalEntry entry : journalRepository.findByUserId(userId)) {
+            rebuilt.put(entry.getId(), toDoc(entry));
+        }
+        dirty.add(userId);
+        logger.fine("Rebuilt journal index for user " + userId + " (" + rebuilt.docs.size() + " entries)");
+        return rebuilt;
+    }
+
+    private static Doc toDoc(JournalEntry entry) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        addTerms(termFreqs, entry.getContent(), 1);
+        addTerms(termFreqs, entry.getTitle(), TITLE_WEIGHT);
+        addTerms(termFreqs, entry.getTags(), TAG_WEIGHT);
+        return new Doc(termFreqs, toMillis(entry.getUpdatedAt()));
+    }
+
+    private static void addTerms(Map<String, Integer> termFreqs, String text, int weight) {
+        for (String term : JournalTextAnalyzer.analyze(text)) {
+            termFreqs.merge(term, weight, Integer::sum);
+        }
+    }
+
+    // Millisecond precision: the database may keep fewer fractional digits than LocalDateTime.now()
+    private static long toMillis(LocalDateTime time) {
+        return time == null ? -1 : time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private Path segmentPath(Long userId) {
+        return directory.resolve("user-" + userId + ".seg");
+    }
+
+    private void writeSegment(Long userId, UserIndex index) {
+        if (directory == null) return;
+        Path target = segmentPath(userId);
+        Path temp = directory.resolve("user-" + userId + ".seg.tmp");
+        try {
+            synchronized (index) {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(SEGMENT_MAGIC);
+                    out.writeInt(SEGMENT_VERSION);
+                    out.writeLong(userId);
+                    out.writeLong(index.docs.size());
+                    out.writeLong(index.idSum());
+                    out.writeLong(index.lastUpdated());
+                    for (Map.Entry<Long, Doc> e : index.docs.entrySet()) {
+                        Doc doc = e.getValue();
+                        out.writeLong(e.getKey());
+                        out.writeLong(doc.updatedAt);
+                        out.writeInt(doc.termFreqs.size());
+                        for (Map.Entry<String, Integer> tf : doc.termFreqs.entrySet()) {
+                            out.writeUTF(tf.getKey());
+                            out.writeInt(tf.getValue());
+                        }
+                    }
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warning("Could not write journal index segment for user " + userId + ": " + e.getMessage());
+        }
+    }
+
+    // Null if there is no segment or it no longer matches the database
+    private UserIndex readSegment(Long userId, long entryCount, long idSum, long lastUpdated) {
+        if (directory == null) return null;
+        Path path = segmentPath(userId);
+        if (!Files.exists(path)) return null;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SEGMENT_MAGIC || in.readInt() != SEGMENT_VERSION || in.readLong() != userId) {
+                return null;
+            }
+            if (in.readLong() != entryCount || in.readLong() != idSum || in.readLong() != lastUpdated) {
+                return null;
+            }
+
+            UserIndex index = new UserIndex();
+            for (long i = 0; i < entryCount; i++) {
+                long entryId = in.readLong();
+                long updatedAt = in.readLong();
+                int terms = in.readInt();
+                Map<String, Integer> termFreqs = new HashMap<>(terms * 2);
+                for (int t = 0; t < terms; t++) {
+                    termFreqs.put(in.readUTF(), in.readInt());
+                }
+                index.put(entryId, new Doc(Collections.unmodifiableMap(termFreqs), updatedAt));
+            }
+            return index;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Discarding unreadable journal index segment for user " + userId, e);
+            return null;
+        }
+    }
+
+    private void deleteSegment(Long userId) {
+        if (directory == null) return;
+        try {
+            Files.deleteIfExists(segmentPath(userId));
+        } catch (IOException e) {
+            logger.warning("Could not delete journal index segment for user " + userId + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.medimind.api.service;
+
+import com.medimind.api.model.JournalEntry;
+import com.medimind.api.model.JournalEntryTag;
+import com.medimind.api.model.JournalTag;
+import com.medimind.api.repository.JournalEntryTagRepository;
+import com.medimind.api.repository.JournalRepository;
+import com.medimind.api.repository.JournalTagSource;
+import com.medimind.api.repository.JournalTagRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the normalized tag tables in step with JournalEntry.tags.
+ *
+ * The comma-separated string stays on the entry as the client sees it;
+ * each distinct tag also gets a journal_tags row per user (with a running
+ * entry count for facets) and a journal_entry_tags link per entry, so tag
+ * filters are index lookups. Saves diff the entry's old and new tag sets
+ * and only touch the links and counters that changed.
+ *
+ * Entries are saved and deleted through here, so the entry row and its tag
+ * rows, links and counts commit together, and a user's writes are
+ * serialized until they have committed.
+ */
+@Service
+public class JournalTagService {
+
+    private static final Logger logger = Logger.getLogger(JournalTagService.class.getName());
+
+    private static final int MAX_TAGS_PER_ENTRY = 20;
+    private static final int MAX_TAG_LENGTH = 50;
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    @Autowired private JournalTagRepository journalTagRepository;
+    @Autowired private JournalEntryTagRepository journalEntryTagRepository;
+    @Autowired private JournalRepository journalRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    // Striped locks: creating a user's tag rows and adjusting their counts is serialized, up to the commit
+    private final Object[] locks = new Object[64];
+
+    public JournalTagService() {
+        for (int i = 0; i < locks.length; i++) locks[i] = new Object();
+    }
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private Object lockFor(Long userId) {
+        return locks[(Long.hashCode(userId) & 0x7fffffff) % locks.length];
+    }
+
+    /** Canonical form of one tag: trimmed, lowercase, no leading '#'. Null if nothing is left. */
+    public static String normalize(String tag) {
+        if (tag == null) return null;
+        String t = tag.trim();
+        while (t.startsWith("#")) t = t.substring(1).trim();
+        t = t.replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (t.length() > MAX_TAG_LENGTH) t = t.substring(0, MAX_TAG_LENGTH).trim();
+        return t.isEmpty() ? null : t;
+    }
+
+    /** Distinct normalized tags from a comma-separated tags string, in order. */
+    public static Set<String> parse(String tags) {
+        Set<String> names = new LinkedHashSet<>();
+        if (tags == null) return names;
+        for (String raw : tags.split(",")) {
+            String name = normalize(raw);
+            if (name != null) names.add(name);
+            if (names.size() == MAX_TAGS_PER_ENTRY) break;
+        }
+        return names;
+    }
+
+    /** Save an entry and re-link it to its current tags, in one transaction. */
+    public JournalEntry save(JournalEntry entry) {
+        if (entry.getUserId() == null) return journalRepository.save(entry);
+        synchronized (lockFor(entry.getUserId())) {
+            return transactionTemplate.execute(status -> {
+                JournalEntry saved = journalRepository.save(entry);
+                relink(saved.getUserId(), saved.getId(), parse(saved.getTags()));
+                return saved;
+            });
+        }
+    }
+
+    /** Delete an entry together with its links and counts, in one transaction. */
+    public void delete(JournalEntry entry) {
+        if (entry.getUserId() == null) {
+            journalRepository.delete(entry);
+            return;
+        }
+        synchronized (lockFor(entry.getUserId())) {
+            transactionTemplate.executeWithoutResult(status -> {
+                relink(entry.getUserId(), entry.getId(), Set.of());
+                journalRepository.delete(entry);
+            });
+        }
+    }
+
+    // Link an already saved entry to its current tags
+    private void syncTags(JournalTagSource entry) {
+        if (entry.getUserId() == null) return;
+        synchronized (lockFor(entry.getUserId())) {
+            transactionTemplate.executeWithoutResult(status ->
+                    relink(entry.getUserId(), entry.getId(), parse(entry.getTags())));
+        }
+    }
+
+    // Must be called holding the user's lock, inside a transaction
+    private void relink(Long userId, Long entryId, Set<String> names) {
+        Set<Long> current = new HashSet<>();
+        for (JournalEntryTag link : journalEntryTagRepository.findByEntryId(entryId)) {
+            current.add(link.getTagId());
+        }
+
+        Set<Long> wanted = new HashSet<>();
+        if (!names.isEmpty()) {
+            Map<String, JournalTag> existing = new HashMap<>();
+            for (JournalTag tag : journalTagRepository.findByUserIdAndNameIn(userId, names)) {
+                existing.put(tag.getName(), tag);
+            }
+            for (String name : names) {
+                JournalTag tag = existing.get(name);
+                if (tag == null) {
+                    tag = new JournalTag();
+                    tag.setUserId(userId);
+                    tag.setName(name);
+                    tag = journalTagRepository.save(tag);
+                }
+                wanted.add(tag.getId());
+            }
+        }
+
+        Set<Long> removed = new HashSet<>(current);
+        removed.removeAll(wanted);
+        Set<Long> added = new HashSet<>(wanted);
+        added.removeAll(current);
+
+        if (!removed.isEmpty()) {
+            journalEntryTagRepository.deleteLinks(entryId, removed);
+            journalTagRepository.adjustEntryCounts(removed, -1);
+        }
+        if (!added.isEmpty()) {
+            List<JournalEntryTag> links = new ArrayList<>(added.size());
+            for (Long tagId : added) {
+                JournalEntryTag link = new JournalEntryTag();
+                link.setEntryId(entryId);
+                link.setTagId(tagId);
+                links.add(link);
+            }
+            journalEntryTagRepository.saveAll(links);
+            journalTagRepository.adjustEntryCounts(added, 1);
+        }
+    }
+
+    /** Tag facets for a user, most used first: name -> entry count. */
+    public Map<String, Integer> getFacets(Long userId) {
+        Map<String, Integer> facets = new LinkedHashMap<>();
+        for (JournalTag tag : journalTagRepository.findByUserIdAndEntryCountGreaterThanOrderByEntryCountDescNameAsc(userId, 0)) {
+            facets.put(tag.getName(), tag.getEntryCount());
+        }
+        return facets;
+    }
+
+    /** Id of a user's tag, matched the same way tags are stored. */
+    public Optional<Long> findTagId(Long userId, String tag) {
+        String name = normalize(tag);
+        if (name == null) return Optional.empty();
+        return journalTagRepository.findByUserIdAndName(userId, name).map(JournalTag::getId);
+    }
+
+    // Entries written before the tag tables existed only have the string form. Only entries without
+    // links are read, a page at a time, so a run cut short is finished by the next startup.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long afterId = 0;
+        int linked = 0;
+        List<JournalTagSource> page;
+        do {
+            page = journalRepository.findUnlinkedTaggedAfter(afterId, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+            for (JournalTagSource entry : page) {
+                syncTags(entry);
+                afterId = entry.getId();
+            }
+            linked += page.size();
+        } while (page.size() == BACKFILL_BATCH_SIZE);
+
+        if (linked > 0) logger.info("Backfilled journal tags for " + linked + " entries");
+    }
+}
@@ -0,0 +1,114 @@
+package com.medimind.api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns journal text into index terms: lowercase letter/digit runs, minus
+ * stopwords, reduced with a light English suffix stemmer so "walking",
+ * "walked" and "walks" all land on "walk".
+ */
+public final class JournalTextAnalyzer {
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 40;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "been", "but", "by", "for", "from",
+            "had", "has", "have", "he", "her", "his", "i", "if", "in", "into", "is", "it",
+            "its", "me", "my", "of", "on", "or", "our", "she", "so", "than", "that", "the",
+            "their", "them", "then", "there", "they", "this", "to", "too", "up", "was", "we",
+            "were", "what", "when", "which", "who", "will", "with", "you", "your"
+    );
+
+    private JournalTextAnalyzer() {
+    }
+
+    /** Stemmed, stopword-free terms in document order. */
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String token : tokenize(text)) {
+            if (!STOPWORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        }
+        return terms;
+    }
+
+    /** Lowercased letter/digit runs; apostrophes are dropped so "don't" becomes "dont". */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) return tokens;
+
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if ((c == '\'' || c == '’') && current.length() > 0) {
+                continue;
+            } else {
+                flush(current, tokens);
+            }
+        }
+        flush(current, tokens);
+        return tokens;
+    }
+
+    private static void flush(StringBuilder current, List<String> tokens) {
+        if (current.length() >= MIN_TERM_LENGTH && current.length() <= MAX_TERM_LENGTH) {
+            tokens.add(current.toString().toLowerCase(Locale.ROOT));
+        }
+        current.setLength(0);
+    }
+
+    /**
+     * Porter-style step 1 only (plurals, -ed, -ing, -ly). Deliberately light:
+     * over-stemming hurts precision more than it helps on short diary text.
+     */
+    public static String stem(String word) {
+        if (word.length() <= 3) return word;
+
+        String w = word;
+        if (w.endsWith("sses")) {
+            w = w.substring(0, w.length() - 2);
+        } else if (w.endsWith("ies")) {
+            w = w.substring(0, w.length() - 3) + "y";
+        } else if (w.endsWith("s") && !w.endsWith("ss") && !w.endsWith("us") && !w.endsWith("is")) {
+            w = w.substring(0, w.length() - 1);
+        }
+
+        if (w.endsWith("eed")) {
+            // "agreed" -> "agree", but leave "need"/"feed"
+            if (w.length() > 4) w = w.substring(0, w.length() - 1);
+        } else if (w.endsWith("ed") && hasVowel(w, w.length() - 2)) {
+            w = undouble(w.substring(0, w.length() - 2));
+        } else if (w.endsWith("ing") && hasVowel(w, w.length() - 3)) {
+            w = undouble(w.substring(0, w.length() - 3));
+        }
+
+        if (w.endsWith("ly") && w.length() > 4) {
+            w = w.substring(0, w.length() - 2);
+        }
+        return w;
+    }
+
+    private static boolean hasVowel(String w, int end) {
+        for (int i = 0; i < end; i++) {
+            if ("aeiouy".indexOf(w.charAt(i)) >= 0) return true;
+        }
+        return false;
+    }
+
+    // "running" -> "runn" -> "run"; keeps ll/ss/zz ("falling" -> "fall")
+    private static String undouble(String w) {
+        int n = w.length();
+        if (n >= 2 && w.charAt(n - 1) == w.charAt(n - 2) && "lsz".indexOf(w.charAt(n - 1)) < 0
+                && "aeiou".indexOf(w.charAt(n - 1)) < 0) {
+            return w.substring(0, n - 1);
+        }
+        return w;
+    }
+}
@@ -0,0 +1,237 @@
+package com.medimind.api.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ranked index of users by points (indexable skip list).
+ *
+ * Ordered by points descending, then user id ascending. Every forward link
+ * also stores its span (how many nodes it skips), which gives O(log n)
+ * rank lookups and O(log n + k) top-N / page queries.
+ * Reads share a read lock; updates take the write lock.
+ */
+public class LeaderboardIndex {
+
+    public record Entry(long userId, int points, long rank) {}
+
+    private static final int MAX_LEVEL = 32;
+    private static final double PROBABILITY = 0.25;
+
+    private static final class Node {
+        final long userId;
+        final int points;
+        final Node[] next;
+        final long[] span;
+
+        Node(int level, long userId, int points) {
+            this.userId = userId;
+            this.points = points;
+            this.next = new Node[level];
+            this.span = new long[level];
+        }
+    }
+
+    private final Node head = new Node(MAX_LEVEL, -1, Integer.MAX_VALUE);
+    private final Map<Long, Integer> pointsByUser = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int level = 1;
+    private long length = 0;
+
+    // True if node sorts before (points, userId)
+    private static boolean before(Node node, int points, long userId) {
+        return node.points > points || (node.points == points && node.userId < userId);
+    }
+
+    /**
+     * Insert the user or move them to their new score.
+     */
+    public void update(long userId, int points) {
+        lock.writeLock().lock();
+        try {
+            Integer current = pointsByUser.get(userId);
+            if (current != null) {
+                if (current == points) return;
+                delete(userId, current);
+            }
+            insert(userId, points);
+            pointsByUser.put(userId, points);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            Integer current = pointsByUser.remove(userId);
+            if (current != null) delete(userId, current);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < MAX_LEVEL; i++) {
+                head.next[i] = null;
+                head.span[i] = 0;
+            }
+            pointsByUser.clear();
+            level = 1;
+            length = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 1-based rank of the user, or 0 if the user is not indexed.
+     */
+    public long rank(long userId) {
+        lock.readLock().lock();
+        try {
+            Integer points = pointsByUser.get(userId);
+            if (points == null) return 0;
+            long rank = 0;
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null
+                        && (before(x.next[i], points, userId) || x.next[i].userId == userId)) {
+                    rank += x.span[i];
+                    x = x.next[i];
+                }
+                if (x.userId == userId) return rank;
+            }
+            return 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit entries starting at the given 1-based rank.
+     */
+    public List<Entry> page(long fromRank, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Entry> result = new ArrayList<>(Math.max(0, Math.min(limit, (int) Math.min(length, 1000))));
+            if (fromRank < 1 || fromRank > length || limit <= 0) return result;
+
+            // Descend to the node at fromRank, then walk the bottom level
+            long traversed = 0;
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && traversed + x.span[i] <= fromRank) {
+                    traversed += x.span[i];
+                    x = x.next[i];
+                }
+            }
+            long rank = fromRank;
+            while (x != null && result.size() < limit) {
+                result.add(new Entry(x.userId, x.points, rank++));
+                x = x.next[0];
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Entry> top(int limit) {
+        return page(1, limit);
+    }
+
+    public Integer points(long userId) {
+        lock.readLock().lock();
+        try {
+            return pointsByUser.get(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int randomLevel() {
+        int lvl = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (lvl < MAX_LEVEL && random.nextDouble() < PROBABILITY) lvl++;
+        return lvl;
+    }
+
+    private void insert(long userId, int points) {
+        Node[] update = new Node[MAX_LEVEL];
+        long[] rank = new long[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = (i == level - 1) ? 0 : rank[i + 1];
+            while (x.next[i] != null && before(x.next[i], points, userId)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int lvl = randomLevel();
+        if (lvl > level) {
+            for (int i = level; i < lvl; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                update[i].span[i] = length;
+            }
+            level = lvl;
+        }
+
+        Node node = new Node(lvl, userId, points);
+        for (int i = 0; i < lvl; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = lvl; i < level; i++) {
+            update[i].span[i]++;
+        }
+        length++;
+    }
+
+    private void delete(long userId, int points) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && before(x.next[i], points, userId)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        Node target = x.next[0];
+        if (target == null || target.userId != userId) return;
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        length--;
+    }
+}
@@ -5,9 +5,13 @@ import com.medimind.api.model.User;
 import com.medimind.api.repository.MealRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -15,18 +19,25 @@ public class MealService {
     @Autowired
     private MealRepository mealRepository;
 
+    @Autowired
+    private FuzzySearchService fuzzySearchService;
+
     // CREATE
     public Meal logMeal(Meal meal) {
         meal.setLoggedAt(LocalDateTime.now());
-        return mealRepository.save(meal);
+        Meal saved = mealRepository.save(meal);
+        fuzzySearchService.mealSaved(saved);
+        return saved;
     }
 
     // READ - Get meal history for user
+    @Transactional(readOnly = true)
     public List<Meal> getMealHistory(User user) {
         return mealRepository.findByUserOrderByLoggedAtDesc(user);
     }
     
     // READ - Get today's meals for user
+    @Transactional(readOnly = true)
     public List<Meal> getTodaysMeals(User user) {
         LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
         LocalDateTime endOfDay = startOfDay.plusDays(1);
@@ -34,11 +45,28 @@ public class MealService {
     }
 
     // READ - Get single meal by ID
+    @Transactional(readOnly = true)
     public Optional<Meal> getMealById(Long mealId) {
         return mealRepository.findById(mealId);
     }
 
+    // READ - Meals by id, in the order given (e.g. search ranking)
+    @Transactional(readOnly = true)
+    public List<Meal> getMealsByIds(List<Long> mealIds) {
+        Map<Long, Meal> byId = new HashMap<>();
+        for (Meal meal : mealRepository.findAllById(mealIds)) {
+            byId.put(meal.getId(), meal);
+        }
+        List<Meal> ordered = new ArrayList<>(mealIds.size());
+        for (Long id : mealIds) {
+            Meal meal = byId.get(id);
+            if (meal != null) ordered.add(meal);
+        }
+        return ordered;
+    }
+
     // READ - Get all meals
+    @Transactional(readOnly = true)
     public List<Meal> getAllMeals() {
         return mealRepository.findAll();
     }
@@ -51,15 +79,19 @@ public class MealService {
             if (mealType != null) existingMeal.setMealType(mealType);
             if (foodItems != null) existingMeal.setFoodItems(foodItems);
             if (notes != null) existingMeal.setNotes(notes);
-            return Optional.of(mealRepository.save(existingMeal));
+            Meal saved = mealRepository.save(existingMeal);
+            fuzzySearchService.mealSaved(saved);
+            return Optional.of(saved);
         }
         return Optional.empty();
     }
 
     // DELETE - Delete meal
     public boolean deleteMeal(Long mealId) {
-        if (mealRepository.existsById(mealId)) {
-            mealRepository.deleteById(mealId);
+        Optional<Meal> meal = mealRepository.findById(mealId);
+        if (meal.isPresent()) {
+            mealRepository.delete(meal.get());
+            fuzzySearchService.mealDeleted(meal.get().getUser().getId(), mealId);
             return true;
         }
         return false;
@@ -1,7 +1,9 @@
 package com.medimind.api.service;
 
 import com.medimind.api.model.Meal;
+import com.medimind.api.model.SuggestedMeal;
 import com.medimind.api.model.User;
+import com.medimind.api.model.UserProfile;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -29,7 +31,7 @@ public class MealSuggestionService {
     }
 
     // Comprehensive meal database
-    private static final List<MealSuggestion> mealDatabase = Arrays.asList(
+    private static final List<MealSuggestion> MEAL_DATABASE = Arrays.asList(
             // Bangladeshi Meals
             new MealSuggestion("Kacchi Biryani", "Bangladeshi", "Proteins", 600, "Aromatic rice with mutton and spices", Arrays.asList("high-protein")),
             new MealSuggestion("Hilsa Fish Curry", "Bangladeshi", "Seafood", 350, "Bengal's famous fish curry with mustard", Arrays.asList("high-protein", "omega3")),
@@ -73,10 +75,21 @@ public class MealSuggestionService {
             new MealSuggestion("Paneer Tikka", "South Asian", "Dairy", 280, "Grilled cottage cheese skewers", Arrays.asList("vegetarian", "high-protein", "high-calcium"))
     );
 
+    private final List<MealSuggestion> mealDatabase;
+
+    public MealSuggestionService() {
+        this(MEAL_DATABASE);
+    }
+
+    // Alternative catalog, for benchmarks with synthetic data
+    MealSuggestionService(List<MealSuggestion> mealDatabase) {
+        this.mealDatabase = mealDatabase;
+    }
+
     /**
      * Get smart meal suggestions based on user preferences and health profile
      */
-    public List<Map<String, Object>> getSuggestedMeals(User user, List<String> selectedFoodItems, List<String> selectedCuisines) {
+    public List<SuggestedMeal> getSuggestedMeals(UserProfile user, List<String> selectedFoodItems, List<String> selectedCuisines) {
         List<MealSuggestion> filteredMeals = new ArrayList<>();
 
         // Filter meals by selected food items
@@ -98,29 +111,22 @@ public class MealSuggestionService {
             return Integer.compare(score2, score1); // Higher score first
         });
 
-        // Convert to response format with allergy warnings
-        List<Map<String, Object>> result = new ArrayList<>();
+        // Convert to response format with allergy and health warnings
+        List<SuggestedMeal> result = new ArrayList<>(filteredMeals.size());
         for (MealSuggestion meal : filteredMeals) {
-            Map<String, Object> mealMap = new HashMap<>();
-            mealMap.put("name", meal.name);
-            mealMap.put("cuisine", meal.cuisine);
-            mealMap.put("mainIngredient", meal.mainIngredient);
-            mealMap.put("calories", meal.calories);
-            mealMap.put("description", meal.description);
-            mealMap.put("dietaryFlags", meal.dietaryFlags);
-            mealMap.put("healthScore", calculateHealthScore(meal, user));
-            mealMap.put("compatibility", getCompatibilityPercentage(meal, user));
-            
-            // Add allergy warnings
             List<String> warnings = getAllergyWarnings(meal, user);
-            mealMap.put("allergyWarnings", warnings);
-            mealMap.put("hasAllergyRisk", !warnings.isEmpty());
-            
-            // Add health condition warnings
-            List<String> healthWarnings = getHealthWarnings(meal, user);
-            mealMap.put("healthWarnings", healthWarnings);
-            
-            result.add(mealMap);
+            result.add(new SuggestedMeal(
+                    meal.name,
+                    meal.cuisine,
+                    meal.mainIngredient,
+                    meal.calories,
+                    meal.description,
+                    meal.dietaryFlags,
+                    calculateHealthScore(meal, user),
+                    getCompatibilityPercentage(meal, user),
+                    warnings,
+                    !warnings.isEmpty(),
+                    getHealthWarnings(meal, user)));
         }
 
         return result;
@@ -129,11 +135,11 @@ public class MealSuggestionService {
     /**
      * Check for allergy warnings
      */
-    private List<String> getAllergyWarnings(MealSuggestion meal, User user) {
+    private List<String> getAllergyWarnings(MealSuggestion meal, UserProfile user) {
         List<String> warnings = new ArrayList<>();
-        if (user.getAllergies() == null || user.getAllergies().isEmpty()) return warnings;
+        if (user.allergies() == null || user.allergies().isEmpty()) return warnings;
         
-        String allergies = user.getAllergies().toLowerCase();
+        String allergies = user.allergies().toLowerCase();
         String mealName = meal.name.toLowerCase();
         String mealDesc = meal.description.toLowerCase();
         String ingredient = meal.mainIngredient.toLowerCase();
@@ -183,11 +189,11 @@ public class MealSuggestionService {
     /**
      * Check for health condition warnings
      */
-    private List<String> getHealthWarnings(MealSuggestion meal, User user) {
+    private List<String> getHealthWarnings(MealSuggestion meal, UserProfile user) {
         List<String> warnings = new ArrayList<>();
-        if (user.getConditions() == null || user.getConditions().isEmpty()) return warnings;
+        if (user.conditions() == null || user.conditions().isEmpty()) return warnings;
         
-        String conditions = user.getConditions().toLowerCase();
+        String conditions = user.conditions().toLowerCase();
         
         // Diabetes warnings for high calorie/carb meals
         if (conditions.contains("diabetes")) {
@@ -241,12 +247,12 @@ public class MealSuggestionService {
     /**
      * Calculate health compatibility score for a meal based on user profile
      */
-    private int calculateHealthScore(MealSuggestion meal, User user) {
+    private int calculateHealthScore(MealSuggestion meal, UserProfile user) {
         int score = 50; // Base score
 
         // Check allergies - significantly reduce score for allergen risk
-        if (user.getAllergies() != null && !user.getAllergies().isEmpty()) {
-            String allergies = user.getAllergies().toLowerCase();
+        if (user.allergies() != null && !user.allergies().isEmpty()) {
+            String allergies = user.allergies().toLowerCase();
             String ingredient = meal.mainIngredient.toLowerCase();
             String mealName = meal.name.toLowerCase();
             
@@ -268,8 +274,8 @@ public class MealSuggestionService {
         }
 
         // Check chronic conditions and provide compatible meals
-        if (user.getConditions() != null && !user.getConditions().isEmpty()) {
-            String conditions = user.getConditions().toLowerCase();
+        if (user.conditions() != null && !user.conditions().isEmpty()) {
+            String conditions = user.conditions().toLowerCase();
             
             if (conditions.contains("diabetes")) {
                 if (meal.dietaryFlags.contains("diabetic-friendly")) score += 30;
@@ -285,8 +291,8 @@ public class MealSuggestionService {
         }
 
         // BMI-based calorie recommendations
-        if (user.getHeight() > 0 && user.getWeight() > 0) {
-            double bmi = user.getWeight() / ((user.getHeight() / 100.0) * (user.getHeight() / 100.0));
+        if (user.height() > 0 && user.weight() > 0) {
+            double bmi = user.weight() / ((user.height() / 100.0) * (user.height() / 100.0));
             
             if (bmi > 25) { // Overweight - prefer lower calorie meals
                 if (meal.calories < 350) score += 25;
@@ -308,7 +314,7 @@ public class MealSuggestionService {
     /**
      * Get compatibility percentage with explanation
      */
-    private int getCompatibilityPercentage(MealSuggestion meal, User user) {
+    private int getCompatibilityPercentage(MealSuggestion meal, UserProfile user) {
         return calculateHealthScore(meal, user);
     }
 
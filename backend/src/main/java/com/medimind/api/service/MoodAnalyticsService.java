@@ -0,0 +1,245 @@
+package com.medimind.api.service;
+
+import com.medimind.api.model.MoodObservation;
+import com.medimind.api.model.MoodObservation.Source;
+import com.medimind.api.model.MoodRollup;
+import com.medimind.api.model.MoodRollup.Period;
+import com.medimind.api.repository.MoodObservationRepository;
+import com.medimind.api.repository.MoodRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Mood history and journaling trends.
+ *
+ * Every mood a user reports (on a journal entry or as their current mood)
+ * is appended to mood_observations, and the DAY and WEEK rollups it falls
+ * in are updated on the spot: counts per mood, journal entries, active
+ * days and the journaling streak. Trend queries then read one row per
+ * bucket instead of scanning entries. The history is append-only, like
+ * the achievement counters - deleting an entry does not rewrite the past.
+ *
+ * Observations keep the mood as reported; rollups count the moods the app
+ * offers by name and everything else under "Other", so a bucket's counts
+ * stay small however many free-text moods a user invents.
+ *
+ * Each observation and its two rollups are written in their own
+ * transaction, committed before the user's lock is released. Called from
+ * inside another transaction, the write waits until that one commits.
+ * Analytics never fail the caller: a failed write is logged and dropped.
+ */
+@Service
+public class MoodAnalyticsService {
+
+    private static final Logger logger = Logger.getLogger(MoodAnalyticsService.class.getName());
+
+    private static final int MAX_MOOD_LENGTH = 30;
+
+    // The moods the journal and profile pages offer; rollups file any other mood under OTHER_MOOD
+    private static final Set<String> ROLLUP_MOODS = Set.of(
+            "Happy", "Excited", "Calm", "Grateful", "Tired", "Anxious", "Sad", "Angry", "Stressed");
+    private static final String OTHER_MOOD = "Other";
+
+    @Autowired private MoodObservationRepository moodObservationRepository;
+    @Autowired private MoodRollupRepository moodRollupRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Striped locks: read-modify-write of one user's rollup rows is serialized
+    private final Object[] locks = new Object[64];
+
+    public MoodAnalyticsService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < locks.length; i++) locks[i] = new Object();
+    }
+
+    private Object lockFor(Long userId) {
+        return locks[(Long.hashCode(userId) & 0x7fffffff) % locks.length];
+    }
+
+    /**
+     * Canonical mood name: letters only, capitalized, so "happy", "Happy"
+     * and "Happy 😊" are one series. Null if there are no letters.
+     */
+    public static String normalize(String mood) {
+        if (mood == null) return null;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < mood.length() && sb.length() < MAX_MOOD_LENGTH; i++) {
+            char c = mood.charAt(i);
+            if (Character.isLetter(c)) {
+                sb.append(c);
+            } else if (sb.length() > 0) {
+                break;
+            }
+        }
+        if (sb.length() == 0) return null;
+        String word = sb.toString().toLowerCase(Locale.ROOT);
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    /** A journal entry was written; its mood (if any) is recorded too. */
+    public void journalEntryAdded(Long userId, Long entryId, String mood, LocalDateTime at) {
+        record(userId, normalize(mood), Source.JOURNAL, entryId, true, at);
+    }
+
+    /** The mood on an existing journal entry was changed. */
+    public void journalMoodChanged(Long userId, Long entryId, String mood, LocalDateTime at) {
+        String normalized = normalize(mood);
+        if (normalized != null) record(userId, normalized, Source.JOURNAL, entryId, false, at);
+    }
+
+    /** The user set their current mood. */
+    public void moodCheckedIn(Long userId, String mood) {
+        String normalized = normalize(mood);
+        if (normalized != null) record(userId, normalized, Source.CHECK_IN, null, false, LocalDateTime.now());
+    }
+
+    private void record(Long userId, String mood, Source source, Long entryId, boolean newEntry, LocalDateTime at) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordNow(userId, mood, source, entryId, newEntry, at);
+                }
+            });
+        } else {
+            recordNow(userId, mood, source, entryId, newEntry, at);
+        }
+    }
+
+    private void recordNow(Long userId, String mood, Source source, Long entryId, boolean newEntry, LocalDateTime at) {
+        try {
+            synchronized (lockFor(userId)) {
+                transactionTemplate.executeWithoutResult(status -> write(userId, mood, source, entryId, newEntry, at));
+            }
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Could not record mood for user " + userId, e);
+        }
+    }
+
+    private void write(Long userId, String mood, Source source, Long entryId, boolean newEntry, LocalDateTime at) {
+        if (mood != null) {
+            MoodObservation observation = new MoodObservation();
+            observation.setUserId(userId);
+            observation.setMood(mood);
+            observation.setSource(source);
+            observation.setJournalEntryId(entryId);
+            observation.setObservedAt(at);
+            moodObservationRepository.save(observation);
+        }
+
+        LocalDate day = at.toLocalDate();
+        MoodRollup daily = rollup(userId, Period.DAY, day);
+        boolean firstEntryToday = newEntry && daily.getJournalEntries() == 0;
+        apply(daily, mood, newEntry);
+        if (firstEntryToday) {
+            daily.setActiveDays(1);
+            int previousStreak = moodRollupRepository
+                    .findByUserIdAndPeriodAndPeriodStart(userId, Period.DAY, day.minusDays(1))
+                    .map(MoodRollup::getJournalStreak)
+                    .orElse(0);
+            daily.setJournalStreak(previousStreak + 1);
+        }
+        moodRollupRepository.save(daily);
+
+        MoodRollup weekly = rollup(userId, Period.WEEK, day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+        apply(weekly, mood, newEntry);
+        if (firstEntryToday) weekly.setActiveDays(weekly.getActiveDays() + 1);
+        moodRollupRepository.save(weekly);
+    }
+
+    private MoodRollup rollup(Long userId, Period period, LocalDate start) {
+        return moodRollupRepository.findByUserIdAndPeriodAndPeriodStart(userId, period, start)
+                .orElseGet(() -> {
+                    MoodRollup r = new MoodRollup();
+                    r.setUserId(userId);
+                    r.setPeriod(period);
+                    r.setPeriodStart(start);
+                    return r;
+                });
+    }
+
+    private static void apply(MoodRollup rollup, String mood, boolean newEntry) {
+        if (mood != null) {
+            rollup.setObservations(rollup.getObservations() + 1);
+            // Copy so Hibernate sees the converted attribute as changed
+            Map<String, Integer> counts = new LinkedHashMap<>(rollup.getMoodCounts());
+            counts.merge(ROLLUP_MOODS.contains(mood) ? mood : OTHER_MOOD, 1, Integer::sum);
+            rollup.setMoodCounts(counts);
+        }
+        if (newEntry) rollup.setJournalEntries(rollup.getJournalEntries() + 1);
+    }
+
+    /**
+     * Rollup buckets between two dates (inclusive) plus totals over them.
+     * Buckets with no activity are omitted. For WEEK, from is widened to
+     * the Monday of its week.
+     */
+    public Map<String, Object> getTrend(Long userId, Period period, LocalDate from, LocalDate to) {
+        LocalDate start = period == Period.WEEK ? from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : from;
+        List<MoodRollup> buckets = moodRollupRepository
+                .findByUserIdAndPeriodAndPeriodStartBetweenOrderByPeriodStartAsc(userId, period, start, to);
+
+        Map<String, Integer> moodTotals = new LinkedHashMap<>();
+        int observations = 0;
+        int journalEntries = 0;
+        int activeDays = 0;
+        int longestStreak = 0;
+        for (MoodRollup b : buckets) {
+            b.getMoodCounts().forEach((mood, count) -> moodTotals.merge(mood, count, Integer::sum));
+            observations += b.getObservations();
+            journalEntries += b.getJournalEntries();
+            activeDays += b.getActiveDays();
+            longestStreak = Math.max(longestStreak, b.getJournalStreak());
+        }
+
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("observations", observations);
+        totals.put("journalEntries", journalEntries);
+        totals.put("activeDays", activeDays);
+        totals.put("moodCounts", moodTotals);
+        if (period == Period.DAY) totals.put("longestStreak", longestStreak);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("period", period);
+        response.put("from", start);
+        response.put("to", to);
+        response.put("buckets", buckets.stream().map(MoodAnalyticsService::toBucket).toList());
+        response.put("totals", totals);
+        return response;
+    }
+
+    private static Map<String, Object> toBucket(MoodRollup r) {
+        Map<String, Object> bucket = new LinkedHashMap<>();
+        bucket.put("start", r.getPeriodStart());
+        bucket.put("observations", r.getObservations());
+        bucket.put("journalEntries", r.getJournalEntries());
+        bucket.put("activeDays", r.getActiveDays());
+        if (r.getPeriod() == Period.DAY) bucket.put("journalStreak", r.getJournalStreak());
+        bucket.put("moodCounts", r.getMoodCounts());
+        return bucket;
+    }
+
+    /** Raw observations between two instants, oldest first. */
+    public List<MoodObservation> getObservations(Long userId, LocalDateTime from, LocalDateTime to) {
+        return moodObservationRepository.findByUserIdAndObservedAtBetweenOrderByObservedAtAsc(userId, from, to);
+    }
+}
@@ -0,0 +1,17 @@
+package com.medimind.api.service;
+
+/**
+ * Answers whether a domain can receive email. DomainValidationService uses
+ * DnsMxResolver unless the context defines an MxResolver bean, e.g. a
+ * stand-in that answers without touching DNS.
+ */
+@FunctionalInterface
+public interface MxResolver {
+
+    /**
+     * True if the domain has mail servers, false if it does not exist or has
+     * none. Throws if the lookup itself failed, so the caller can tell "no"
+     * from "could not find out".
+     */
+    boolean acceptsMail(String domain) throws Exception;
+}
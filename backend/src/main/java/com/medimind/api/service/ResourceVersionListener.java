@@ -0,0 +1,39 @@
+package com.medimind.api.service;
+
+import com.medimind.api.model.JournalEntry;
+import com.medimind.api.model.Meal;
+import com.medimind.api.model.Medicine;
+import com.medimind.api.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA entity listener that bumps the owner's version whenever one of the
+ * versioned entities is inserted, updated or deleted, whichever code path
+ * did it. Bulk JPQL updates bypass it and bump explicitly.
+ */
+public class ResourceVersionListener {
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        if (entity instanceof Medicine medicine) {
+            resourceVersionService.bump(medicine.getUserId(), ResourceVersionService.Resource.MEDICINES);
+        } else if (entity instanceof Meal meal) {
+            // Reading the id does not initialize the lazy user
+            if (meal.getUser() != null) {
+                resourceVersionService.bump(meal.getUser().getId(), ResourceVersionService.Resource.MEALS);
+            }
+        } else if (entity instanceof JournalEntry entry) {
+            resourceVersionService.bump(entry.getUserId(), ResourceVersionService.Resource.JOURNAL);
+        } else if (entity instanceof User user) {
+            resourceVersionService.bump(user.getId(), ResourceVersionService.Resource.PROFILE);
+        }
+    }
+}
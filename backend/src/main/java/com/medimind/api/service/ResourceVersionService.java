@@ -0,0 +1,105 @@
+package com.medimind.api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-user version counters for the data behind the cacheable GET
+ * endpoints. Every write to a user's medicines, meals, journal or profile
+ * bumps the matching counter, and the endpoints' ETags are built from the
+ * counters alone, so an If-None-Match check never has to read the tables.
+ *
+ * Counters live in memory, like the other per-user caches. Each ETag
+ * carries the process start time, so tags issued before a restart never
+ * match. Bulk updates that touch every user bump a per-resource
+ * generation instead.
+ */
+@Service
+public class ResourceVersionService {
+
+    public enum Resource { MEDICINES, MEALS, JOURNAL, PROFILE }
+
+    private static final int RESOURCES = Resource.values().length;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // Per user: RESOURCES versions followed by RESOURCES change times (epoch millis)
+    private final ConcurrentHashMap<Long, AtomicLongArray> versions = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(RESOURCES * 2);
+
+    // While a read replica may still be behind a write, responses get no ETag
+    private final long settleMillis;
+
+    public ResourceVersionService(@Value("${medimind.datasource.replica.url:}") String replicaUrl,
+                                  @Value("${medimind.datasource.replica.max-lag:5s}") Duration replicaMaxLag) {
+        this.settleMillis = replicaUrl.isEmpty() ? 0 : replicaMaxLag.toMillis();
+    }
+
+    /**
+     * Record a change to a user's resource. Inside a transaction the bump
+     * waits for the commit, so a tag is never paired with data that was
+     * not yet visible when it was read.
+     */
+    public void bump(Long userId, Resource resource) {
+        if (userId == null) return;
+        afterCommit(() -> {
+            AtomicLongArray counters = versions.computeIfAbsent(userId, id -> new AtomicLongArray(RESOURCES * 2));
+            // Time first, so a reader that sees the new version also sees it as recent
+            counters.set(RESOURCES + resource.ordinal(), System.currentTimeMillis());
+            counters.incrementAndGet(resource.ordinal());
+        });
+    }
+
+    /** Record a change that affected the resource of every user. */
+    public void bumpAll(Resource resource) {
+        afterCommit(() -> {
+            generations.set(RESOURCES + resource.ordinal(), System.currentTimeMillis());
+            generations.incrementAndGet(resource.ordinal());
+        });
+    }
+
+    /**
+     * Weak ETag for a response built from the given resources of a user,
+     * or null if one of them changed too recently to be tagged. Pass a
+     * date for responses that also depend on the current day.
+     */
+    public String etag(Long userId, LocalDate day, Resource... resources) {
+        AtomicLongArray counters = versions.get(userId);
+        long settledBefore = System.currentTimeMillis() - settleMillis;
+
+        StringBuilder tag = new StringBuilder("W/\"").append(epoch);
+        for (Resource resource : resources) {
+            int i = resource.ordinal();
+            long version = counters == null ? 0 : counters.get(i);
+            if (settleMillis > 0 && (generations.get(RESOURCES + i) > settledBefore
+                    || (counters != null && counters.get(RESOURCES + i) > settledBefore))) {
+                return null;
+            }
+            tag.append('-').append(resource.name().toLowerCase(Locale.ROOT))
+                    .append(generations.get(i)).append('.').append(version);
+        }
+        if (day != null) tag.append('-').append(day);
+        return tag.append('"').toString();
+    }
+
+    private static void afterCommit(Runnable bump) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump.run();
+                }
+            });
+        } else {
+            bump.run();
+        }
+    }
+}
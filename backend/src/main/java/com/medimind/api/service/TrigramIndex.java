@@ -0,0 +1,176 @@
+package com.medimind.api.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Typo-tolerant word index over a set of documents.
+ *
+ * Each distinct word is split into padded trigrams ("cat" gives "$$c",
+ * "$ca", "cat", "at$"), with postings from trigram to word and from word
+ * to document. Similarity is the Jaccard overlap of two words' trigram
+ * sets, as in PostgreSQL's pg_trgm. To reach threshold t, a candidate has
+ * to share at least ceil(t * n) of the query word's n trigrams, so it must
+ * appear in one of the n - ceil(t * n) + 1 shortest posting lists. Only
+ * those lists are merged to find candidates; the rest are probed per
+ * candidate. Words shorter than three letters are matched exactly.
+ *
+ * Not a Spring bean: FuzzySearchService keeps one per user and domain.
+ * All methods are synchronized on the instance.
+ */
+public final class TrigramIndex {
+
+    private static final char PAD = '$';
+    private static final int MIN_FUZZY_LENGTH = 3;
+    private static final int MAX_EXPANSIONS = 20;
+
+    public record WordMatch(String word, double similarity) {}
+
+    public record DocMatch(long docId, double score) {}
+
+    private final Map<String, Set<String>> trigramWords = new HashMap<>();
+    private final Map<String, Set<Long>> wordDocs = new HashMap<>();
+    private final Map<Long, Set<String>> docWords = new HashMap<>();
+
+    /** Index (or re-index) a document's text. */
+    public synchronized void put(long docId, String text) {
+        remove(docId);
+        Set<String> words = words(text);
+        if (words.isEmpty()) return;
+        docWords.put(docId, words);
+        for (String word : words) {
+            Set<Long> docs = wordDocs.get(word);
+            if (docs == null) {
+                docs = new HashSet<>();
+                wordDocs.put(word, docs);
+                for (String t : trigrams(word)) {
+                    trigramWords.computeIfAbsent(t, k -> new HashSet<>()).add(word);
+                }
+            }
+            docs.add(docId);
+        }
+    }
+
+    public synchronized void remove(long docId) {
+        Set<String> words = docWords.remove(docId);
+        if (words == null) return;
+        for (String word : words) {
+            Set<Long> docs = wordDocs.get(word);
+            docs.remove(docId);
+            if (docs.isEmpty()) {
+                // Last use of the word: drop it from its trigram postings too
+                wordDocs.remove(word);
+                for (String t : trigrams(word)) {
+                    Set<String> posting = trigramWords.get(t);
+                    posting.remove(word);
+                    if (posting.isEmpty()) trigramWords.remove(t);
+                }
+            }
+        }
+    }
+
+    /** Indexed words at least threshold-similar to word, most similar first. */
+    public synchronized List<WordMatch> similarWords(String word, double threshold, int limit) {
+        if (word.length() < MIN_FUZZY_LENGTH) {
+            return wordDocs.containsKey(word) ? List.of(new WordMatch(word, 1.0)) : List.of();
+        }
+
+        Set<String> grams = trigrams(word);
+        int n = grams.size();
+        int minShared = Math.max(1, (int) Math.ceil(threshold * n));
+
+        List<Set<String>> postings = new ArrayList<>(n);
+        for (String t : grams) {
+            postings.add(trigramWords.getOrDefault(t, Set.of()));
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        Set<String> candidates = new HashSet<>();
+        for (int i = 0; i <= n - minShared; i++) {
+            candidates.addAll(postings.get(i));
+        }
+
+        List<WordMatch> matches = new ArrayList<>();
+        for (String candidate : candidates) {
+            int shared = 0;
+            for (Set<String> posting : postings) {
+                if (posting.contains(candidate)) shared++;
+            }
+            if (shared < minShared) continue;
+            double similarity = (double) shared / (n + trigrams(candidate).size() - shared);
+            if (similarity >= threshold) matches.add(new WordMatch(candidate, similarity));
+        }
+        matches.sort(Comparator.comparingDouble(WordMatch::similarity).reversed().thenComparing(WordMatch::word));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    /**
+     * Documents matching the query's words fuzzily. A document scores, for
+     * each query word, the similarity of its closest word; scores add up
+     * across query words.
+     */
+    public synchronized List<DocMatch> search(String query, double threshold, int limit) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (String word : words(query)) {
+            Map<Long, Double> best = new HashMap<>();
+            for (WordMatch match : similarWords(word, threshold, MAX_EXPANSIONS)) {
+                for (Long docId : wordDocs.get(match.word())) {
+                    best.merge(docId, match.similarity(), Math::max);
+                }
+            }
+            best.forEach((docId, score) -> scores.merge(docId, score, Double::sum));
+        }
+
+        List<DocMatch> results = new ArrayList<>(scores.size());
+        scores.forEach((docId, score) -> results.add(new DocMatch(docId, score)));
+        // Ties go to the newer document
+        results.sort(Comparator.comparingDouble(DocMatch::score).reversed()
+                .thenComparing(Comparator.comparingLong(DocMatch::docId).reversed()));
+        return results.size() > limit ? results.subList(0, limit) : results;
+    }
+
+    /**
+     * The query with each unknown word replaced by its closest indexed
+     * word, or empty if every word is known or has no close match.
+     */
+    public synchronized Optional<String> didYouMean(String query, double threshold) {
+        List<String> corrected = new ArrayList<>();
+        boolean changed = false;
+        for (String word : words(query)) {
+            if (!wordDocs.containsKey(word)) {
+                List<WordMatch> best = similarWords(word, threshold, 1);
+                if (!best.isEmpty()) {
+                    corrected.add(best.get(0).word());
+                    changed = true;
+                    continue;
+                }
+            }
+            corrected.add(word);
+        }
+        return changed ? Optional.of(String.join(" ", corrected)) : Optional.empty();
+    }
+
+    public synchronized int wordCount() {
+        return wordDocs.size();
+    }
+
+    static Set<String> words(String text) {
+        return new LinkedHashSet<>(JournalTextAnalyzer.tokenize(text));
+    }
+
+    static Set<String> trigrams(String word) {
+        String padded = "" + PAD + PAD + word + PAD;
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+}
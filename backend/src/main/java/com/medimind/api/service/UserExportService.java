@@ -0,0 +1,142 @@
+package com.medimind.api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.medimind.api.model.User;
+import com.medimind.api.repository.JournalRepository;
+import com.medimind.api.repository.MealRepository;
+import com.medimind.api.repository.MedicineRepository;
+import com.medimind.api.repository.MoodObservationRepository;
+import com.medimind.api.repository.UserAchievementRepository;
+import com.medimind.api.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a user's full record as a ZIP: profile.json, one NDJSON file per
+ * entity type, and a manifest.json with the row counts written last.
+ *
+ * Every table is read through a Stream query with a bounded fetch size
+ * and each row is detached once written, so memory stays flat no matter
+ * how long the history is. The whole export runs in one read-only
+ * transaction, so the files are a consistent snapshot.
+ */
+@Service
+public class UserExportService {
+
+    public static final int FORMAT_VERSION = 1;
+
+    // Credentials and one-time codes never leave the server
+    private static final List<String> PRIVATE_FIELDS = List.of(
+            "password", "verificationCode", "verificationCodeExpiry", "resetOtp", "resetOtpExpiry");
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private MedicineRepository medicineRepository;
+    @Autowired private MealRepository mealRepository;
+    @Autowired private JournalRepository journalRepository;
+    @Autowired private MoodObservationRepository moodObservationRepository;
+    @Autowired private UserAchievementRepository userAchievementRepository;
+    @Autowired private ActivityCounterService activityCounterService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public UserExportService(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        // The zip stream must stay open between values
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean userExists(Long userId) {
+        return userRepository.existsById(userId);
+    }
+
+    /** Stream the export for a user to out; closes nothing but the zip entries it opens. */
+    public void writeExport(Long userId, OutputStream out) throws IOException {
+        // Pending counter increments belong in the exported profile
+        activityCounterService.flush(userId);
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    writeContents(userId, zip);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    private void writeContents(Long userId, ZipOutputStream zip) throws IOException {
+        Map<String, Object> counts = new LinkedHashMap<>();
+
+        User user = userRepository.findById(userId).orElseThrow();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> profile = objectMapper.convertValue(user, LinkedHashMap.class);
+        PRIVATE_FIELDS.forEach(profile::remove);
+        zip.putNextEntry(new ZipEntry("profile.json"));
+        writer.writeValue(zip, profile);
+        zip.closeEntry();
+        entityManager.detach(user);
+
+        counts.put("medicines", writeNdjson(zip, "medicines.ndjson", medicineRepository.streamByUserIdOrderByIdAsc(userId)));
+        counts.put("meals", writeNdjson(zip, "meals.ndjson", mealRepository.streamByUserId(userId)));
+        counts.put("journalEntries", writeNdjson(zip, "journal_entries.ndjson", journalRepository.streamByUserIdOrderByIdAsc(userId)));
+        counts.put("moodObservations", writeNdjson(zip, "mood_observations.ndjson", moodObservationRepository.streamByUserIdOrderByIdAsc(userId)));
+        counts.put("achievements", writeNdjson(zip, "achievements.ndjson", userAchievementRepository.findByUserIdOrderByAwardedAtAsc(userId).stream()));
+
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("formatVersion", FORMAT_VERSION);
+        manifest.put("userId", userId);
+        manifest.put("exportedAt", LocalDateTime.now());
+        manifest.put("counts", counts);
+        zip.putNextEntry(new ZipEntry("manifest.json"));
+        writer.withDefaultPrettyPrinter().writeValue(zip, manifest);
+        zip.closeEntry();
+    }
+
+    // One JSON document per line; returns the number of rows written
+    private long writeNdjson(ZipOutputStream zip, String name, Stream<?> rows) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        long count = 0;
+        try (rows) {
+            var it = rows.iterator();
+            while (it.hasNext()) {
+                Object row = it.next();
+                writer.writeValue(zip, row);
+                zip.write('\n');
+                entityManager.detach(row);
+                count++;
+            }
+        }
+        zip.closeEntry();
+        return count;
+    }
+}
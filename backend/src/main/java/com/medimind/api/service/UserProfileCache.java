@@ -0,0 +1,116 @@
+package com.medimind.api.service;
+
+import com.medimind.api.model.User;
+import com.medimind.api.model.UserProfile;
+import com.medimind.api.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of UserProfile snapshots in front of UserRepository.findById.
+ *
+ * Write-through: controllers that modify a user put the saved entity back
+ * here (or evict it on delete), so hits never need to go to the database.
+ */
+@Service
+public class UserProfileCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final int maxSize;
+    private final Map<Long, UserProfile> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserProfileCache(@Value("${medimind.user-cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+        // Access-ordered LinkedHashMap drops the least recently used profile when full
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserProfile> eldest) {
+                if (size() > UserProfileCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a user's profile, loading it from the database on a miss.
+     */
+    public Optional<UserProfile> get(Long userId) {
+        UserProfile profile;
+        synchronized (entries) {
+            profile = entries.get(userId);
+        }
+        if (profile != null) {
+            hits.increment();
+            return Optional.of(profile);
+        }
+
+        misses.increment();
+        Optional<UserProfile> loaded = userRepository.findById(userId).map(UserProfile::from);
+        loaded.ifPresent(p -> {
+            synchronized (entries) {
+                // Never overwrite a snapshot written through while we were loading
+                entries.putIfAbsent(userId, p);
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Write-through after a user was created or updated.
+     */
+    public void put(User user) {
+        UserProfile profile = UserProfile.from(user);
+        synchronized (entries) {
+            entries.put(profile.id(), profile);
+        }
+    }
+
+    public void evict(Long userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
@@ -0,0 +1,152 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- IF NOT EXISTS throughout: with baseline-version 0 this also runs against
+-- databases that Hibernate already created, and must leave them unchanged.
+
+CREATE TABLE IF NOT EXISTS users (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    full_name varchar(255),
+    username varchar(20) UNIQUE,
+    email varchar(255) UNIQUE,
+    username_normalized varchar(255),
+    email_normalized varchar(255),
+    password varchar(255),
+    height float(53) NOT NULL,
+    weight float(53) NOT NULL,
+    allergies varchar(255),
+    conditions varchar(255),
+    target_weight float(53) NOT NULL,
+    age integer NOT NULL,
+    gender varchar(255),
+    profile_picture varchar(500000),
+    profile_icon varchar(255),
+    notification_sound varchar(255),
+    notifications_enabled boolean NOT NULL,
+    email_verified boolean NOT NULL,
+    verification_code varchar(255),
+    verification_code_expiry bigint,
+    reset_otp varchar(255),
+    reset_otp_expiry bigint,
+    last_username_change varchar(255),
+    daily_calorie_goal integer NOT NULL,
+    water_intake integer NOT NULL,
+    points integer NOT NULL,
+    level varchar(255),
+    mood varchar(255),
+    streak integer NOT NULL,
+    last_claim_date varchar(255),
+    total_water_logs integer NOT NULL,
+    total_meals_logged integer NOT NULL,
+    perfect_medicine_days integer NOT NULL,
+    perfect_days integer NOT NULL,
+    morning_logs integer NOT NULL,
+    evening_logs integer NOT NULL,
+    journal_entries integer NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT ux_users_username_normalized UNIQUE (username_normalized),
+    CONSTRAINT ux_users_email_normalized UNIQUE (email_normalized)
+);
+
+CREATE TABLE IF NOT EXISTS medicines (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    user_id bigint,
+    name varchar(255),
+    dosage varchar(255),
+    times varchar(255),
+    duration_days integer NOT NULL,
+    start_date date,
+    end_date date,
+    time1 varchar(255),
+    time2 varchar(255),
+    time3 varchar(255),
+    time1taken boolean NOT NULL,
+    time2taken boolean NOT NULL,
+    time3taken boolean NOT NULL,
+    time varchar(255),
+    is_taken boolean NOT NULL,
+    last_taken_at timestamp(6),
+    notes varchar(255),
+    active boolean NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS meals (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    meal_type varchar(255) NOT NULL,
+    food_items varchar(255) NOT NULL,
+    notes varchar(255),
+    calories integer,
+    logged_at timestamp(6) NOT NULL,
+    user_id bigint NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE meals ADD CONSTRAINT IF NOT EXISTS fk_meals_user FOREIGN KEY (user_id) REFERENCES users;
+
+CREATE TABLE IF NOT EXISTS journal_entries (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    user_id bigint,
+    content varchar(5000),
+    mood varchar(255),
+    title varchar(255),
+    tags varchar(500),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_journal_entries_user_created ON journal_entries (user_id, created_at, id);
+
+CREATE TABLE IF NOT EXISTS journal_tags (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    user_id bigint,
+    name varchar(50),
+    entry_count integer NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT ux_journal_tags_user_name UNIQUE (user_id, name)
+);
+
+CREATE TABLE IF NOT EXISTS journal_entry_tags (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    entry_id bigint,
+    tag_id bigint,
+    PRIMARY KEY (id),
+    CONSTRAINT ux_journal_entry_tags_entry_tag UNIQUE (entry_id, tag_id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_journal_entry_tags_tag ON journal_entry_tags (tag_id);
+
+CREATE TABLE IF NOT EXISTS mood_observations (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    user_id bigint,
+    mood varchar(30),
+    source varchar(10) CHECK (source IN ('JOURNAL', 'CHECK_IN')),
+    journal_entry_id bigint,
+    observed_at timestamp(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_mood_observations_user_observed ON mood_observations (user_id, observed_at);
+
+CREATE TABLE IF NOT EXISTS mood_rollups (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    user_id bigint,
+    period varchar(4) CHECK (period IN ('DAY', 'WEEK')),
+    period_start date,
+    observations integer NOT NULL,
+    journal_entries integer NOT NULL,
+    active_days integer NOT NULL,
+    journal_streak integer NOT NULL,
+    mood_counts varchar(500),
+    PRIMARY KEY (id),
+    CONSTRAINT ux_mood_rollups_user_period_start UNIQUE (user_id, period, period_start)
+);
+
+CREATE TABLE IF NOT EXISTS user_achievements (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    user_id bigint,
+    achievement varchar(255),
+    points_awarded integer NOT NULL,
+    awarded_at timestamp(6),
+    PRIMARY KEY (id),
+    UNIQUE (user_id, achievement)
+);
@@ -0,0 +1,6 @@
+-- Every screen reads one user's rows; without these each query scans the table.
+-- H2 has no partial indexes, so active medicines get a plain composite one.
+
+CREATE INDEX IF NOT EXISTS ix_medicines_user ON medicines (user_id, id);
+CREATE INDEX IF NOT EXISTS ix_medicines_user_active ON medicines (user_id, active);
+CREATE INDEX IF NOT EXISTS ix_meals_user_logged ON meals (user_id, logged_at);
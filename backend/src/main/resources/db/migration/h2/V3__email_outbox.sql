@@ -0,0 +1,22 @@
+-- Outgoing email, written in the same transaction as the change that triggers
+-- it and delivered by EmailOutbox's dispatcher. For PENDING rows
+-- next_attempt_at is both the retry time and the claim lease. One-time codes
+-- go only in the body, never the subject, and the body is cleared once a row
+-- is SENT or DEAD.
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    recipient varchar(255) NOT NULL,
+    subject varchar(255) NOT NULL,
+    body varchar(20000),
+    status varchar(7) NOT NULL CHECK (status IN ('PENDING', 'SENT', 'DEAD')),
+    attempts integer NOT NULL,
+    next_attempt_at timestamp(6) NOT NULL,
+    expires_at timestamp(6),
+    last_error varchar(1000),
+    created_at timestamp(6) NOT NULL,
+    sent_at timestamp(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_email_outbox_due ON email_outbox (status, next_attempt_at);
@@ -0,0 +1,8 @@
+-- Every screen reads one user's rows; without these each query scans the table.
+-- CONCURRENTLY keeps the tables writable while the indexes build; Flyway runs
+-- this script outside a transaction because of it, so keep it index-only.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_medicines_user ON medicines (user_id, id);
+-- Today's list, reminders and the dashboard summary only look at active medicines
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_medicines_user_active ON medicines (user_id) WHERE active;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_meals_user_logged ON meals (user_id, logged_at);
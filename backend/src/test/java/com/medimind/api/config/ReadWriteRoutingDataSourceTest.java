@@ -0,0 +1,94 @@
+package com.medimind.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the "replica" stand-in profile (a read-only second pool on
+ * the same in-memory database) and checks which pool each kind of
+ * transaction actually takes its connection from.
+ */
+@SpringBootTest(properties = "medimind.datasource.replica.lag-check-interval-ms=600000")
+@ActiveProfiles("replica")
+class ReadWriteRoutingDataSourceTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replica;
+
+    @BeforeEach
+    void replicaInRotation() {
+        lagMonitor.check();
+        assertThat(lagMonitor.isAvailable()).isTrue();
+    }
+
+    @AfterEach
+    void restoreReplica() {
+        lagMonitor.check();
+    }
+
+    // Runs a query in a transaction and reports the pool whose connection it used
+    private String poolUsedBy(String name, boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setName(name);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+            int onPrimary = primary.getHikariPoolMXBean().getActiveConnections();
+            int onReplica = replica.getHikariPoolMXBean().getActiveConnections();
+            assertThat(onPrimary + onReplica).isEqualTo(1);
+            return onReplica == 1 ? "replica" : "primary";
+        });
+    }
+
+    @Test
+    void applicationReadOnlyTransactionReadsFromReplica() {
+        assertThat(poolUsedBy("com.medimind.api.controller.UserController.getUser", true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransactionUsesPrimary() {
+        assertThat(poolUsedBy("com.medimind.api.controller.UserController.updateUser", false)).isEqualTo("primary");
+    }
+
+    @Test
+    void repositoryDefaultReadOnlyTransactionStaysOnPrimary() {
+        assertThat(poolUsedBy("org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById", true))
+                .isEqualTo("primary");
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhileReplicaIsOutOfRotation() {
+        lagMonitor.markUnavailable(new SQLException("simulated outage"));
+        assertThat(poolUsedBy("com.medimind.api.controller.UserController.getUser", true)).isEqualTo("primary");
+
+        lagMonitor.check();
+        assertThat(poolUsedBy("com.medimind.api.controller.UserController.getUser", true)).isEqualTo("replica");
+    }
+}
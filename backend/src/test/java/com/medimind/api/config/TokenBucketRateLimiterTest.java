@@ -0,0 +1,137 @@
+package com.medimind.api.config;
+
+import com.medimind.api.controller.RateLimited;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the buckets with a hand-held clock through tryAcquire(key, now).
+ */
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    // Arbitrary origin, as System.nanoTime() has no fixed zero
+    private static final long T0 = 123_456_789_000L;
+
+    @Test
+    void burstAdmitsExactlyCapacity() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 5, 60, 1000);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("a:10.0.0.1", T0)).isZero();
+        }
+        assertThat(limiter.tryAcquire("a:10.0.0.1", T0)).isPositive();
+        assertThat(limiter.getRejected()).isEqualTo(1);
+
+        // Other keys have buckets of their own
+        assertThat(limiter.tryAcquire("a:10.0.0.2", T0)).isZero();
+    }
+
+    @Test
+    void drainedBucketRefillsAtRefillPerMinute() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 5, 60, 1000);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("a:10.0.0.1", T0);
+        }
+
+        // Ask every 100ms for a minute: one token per second comes back
+        int admitted = 0;
+        for (long t = T0 + SECOND / 10; t <= T0 + 60 * SECOND; t += SECOND / 10) {
+            if (limiter.tryAcquire("a:10.0.0.1", t) == 0) admitted++;
+        }
+        assertThat(admitted).isEqualTo(60);
+    }
+
+    @Test
+    void idleBucketRefillsToCapacityAndNoFurther() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 3, 30, 1000);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a:10.0.0.1", T0);
+        }
+
+        long later = T0 + TimeUnit.MINUTES.toNanos(10);
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("a:10.0.0.1", later)).isZero();
+        }
+        assertThat(limiter.tryAcquire("a:10.0.0.1", later)).isPositive();
+    }
+
+    @Test
+    void returnedWaitIsExactlyTheTimeUntilTheNextToken() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 2, 60, 1000);
+        limiter.tryAcquire("a:10.0.0.1", T0);
+        limiter.tryAcquire("a:10.0.0.1", T0 + SECOND / 4);
+
+        long now = T0 + SECOND / 2;
+        long wait = limiter.tryAcquire("a:10.0.0.1", now);
+        assertThat(wait).isEqualTo(SECOND / 2);
+
+        assertThat(limiter.tryAcquire("a:10.0.0.1", now + wait - 1)).isEqualTo(1);
+        assertThat(limiter.tryAcquire("a:10.0.0.1", now + wait)).isZero();
+    }
+
+    @Test
+    void retryAfterHeaderRoundsTheWaitUpToWholeSeconds() throws Exception {
+        // One request per 30 seconds: the second is told to come back in 30
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("medimind.rate-limit.test.capacity", "1")
+                .withProperty("medimind.rate-limit.test.refill-per-minute", "2");
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(environment, new SimpleMeterRegistry());
+        HandlerMethod handler = new HandlerMethod(this, getClass().getDeclaredMethod("limitedEndpoint"));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), handler)).isTrue();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request, response, handler)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("30");
+        assertThat(response.getContentAsString()).contains("30 seconds");
+    }
+
+    @RateLimited("test")
+    void limitedEndpoint() {
+    }
+
+    @Test
+    void evictionKeepsEveryStripeWithinItsBound() {
+        // 16 stripes of 10 keys each
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 5, 60, 160);
+
+        // Every bucket is in use, so eviction has to drop some that are not yet full
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("a:" + i, T0);
+            assertThat(largestStripe(limiter)).isLessThanOrEqualTo(10);
+        }
+        assertThat(limiter.getKeys()).isLessThanOrEqualTo(160);
+
+        // Once they have refilled, they are the ones dropped
+        long later = T0 + TimeUnit.MINUTES.toNanos(1);
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("b:" + i, later);
+            assertThat(largestStripe(limiter)).isLessThanOrEqualTo(10);
+        }
+        assertThat(limiter.getKeys()).isLessThanOrEqualTo(160);
+    }
+
+    private static int largestStripe(TokenBucketRateLimiter limiter) {
+        Map<?, ?>[] stripes = (Map<?, ?>[]) ReflectionTestUtils.getField(limiter, "stripes");
+        int largest = 0;
+        for (Map<?, ?> stripe : stripes) {
+            largest = Math.max(largest, stripe.size());
+        }
+        return largest;
+    }
+}
@@ -0,0 +1,120 @@
+package com.medimind.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainValidationServiceTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private DomainValidationService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (service != null) service.shutdown();
+    }
+
+    private DomainValidationService create(MxResolver resolver, long timeoutMillis, Duration negativeTtl,
+                                           int threads, int queueSize) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("resolver", resolver));
+        DomainValidationService created = new DomainValidationService(beans.getBeanProvider(MxResolver.class),
+                timeoutMillis, Duration.ofHours(24), negativeTtl, 100, threads, queueSize);
+        ReflectionTestUtils.setField(created, "meterRegistry", new SimpleMeterRegistry());
+        return created;
+    }
+
+    // Counts calls and blocks until released
+    private boolean slowAnswer(boolean answer) throws InterruptedException {
+        calls.incrementAndGet();
+        entered.countDown();
+        release.await();
+        return answer;
+    }
+
+    @Test
+    void concurrentChecksOfOneDomainShareOneLookup() throws Exception {
+        service = create(domain -> slowAnswer(true), 5000, Duration.ofMinutes(10), 4, 100);
+
+        Future<Boolean> first = callers.submit(() -> service.isValidEmailDomain("a@clinic-mail.org"));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Boolean> second = callers.submit(() -> service.isValidEmailDomain("b@Clinic-Mail.org"));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void slowLookupFailsOpenAndItsAnswerIsCachedForTheNextCheck() throws Exception {
+        service = create(domain -> slowAnswer(false), 50, Duration.ofMinutes(10), 4, 100);
+
+        assertThat(service.isValidEmailDomain("a@no-mail.org")).isTrue();
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.isValidEmailDomain("a@no-mail.org") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(service.isValidEmailDomain("a@no-mail.org")).isFalse();
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void negativeVerdictExpiresAfterItsTtl() throws Exception {
+        service = create(domain -> {
+            calls.incrementAndGet();
+            return false;
+        }, 5000, Duration.ofMillis(100), 4, 100);
+
+        assertThat(service.isValidEmailDomain("a@no-mail.org")).isFalse();
+        assertThat(service.isValidEmailDomain("a@no-mail.org")).isFalse();
+        assertThat(calls).hasValue(1);
+
+        Thread.sleep(150);
+        assertThat(service.isValidEmailDomain("a@no-mail.org")).isFalse();
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void lookupRejectedByAFullQueueFailsOpenWithoutCaching() throws Exception {
+        // One thread busy with the first domain and one lookup queued behind it: the third is rejected
+        service = create(domain -> slowAnswer(false), 50, Duration.ofMinutes(10), 1, 1);
+        service.isValidEmailDomain("a@first.org");
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        service.isValidEmailDomain("a@second.org");
+
+        assertThat(service.isValidEmailDomain("a@third.org")).isTrue();
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        // Nothing was cached or left in flight for the rejected domain, so it is looked up now
+        while (service.isValidEmailDomain("a@third.org") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(service.isValidEmailDomain("a@third.org")).isFalse();
+        assertThat(calls).hasValue(3);
+    }
+}
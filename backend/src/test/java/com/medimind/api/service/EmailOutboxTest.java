@@ -0,0 +1,105 @@
+package com.medimind.api.service;
+
+import com.medimind.api.model.OutboxEmail;
+import com.medimind.api.repository.EmailOutboxRepository;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the outbox dispatcher by hand against a stand-in mail sender.
+ * The scheduled run is pushed out of the way, and retries are due at once.
+ */
+@SpringBootTest(properties = {
+        "spring.mail.username=medimind@example.com",
+        "spring.mail.password=secret",
+        "management.health.mail.enabled=false",
+        "medimind.email.outbox.poll-interval-ms=3600000",
+        "medimind.email.outbox.max-attempts=2",
+        "medimind.email.outbox.initial-backoff=0s"
+})
+class EmailOutboxTest {
+
+    @MockBean
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private EmailOutbox outbox;
+
+    @Autowired
+    private EmailOutboxRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+    }
+
+    private OutboxEmail only() {
+        assertThat(repository.count()).isEqualTo(1);
+        return repository.findAll().get(0);
+    }
+
+    @Test
+    void failingSenderRetriesThenGivesUp() {
+        doThrow(new MailSendException("SMTP down")).when(mailSender).send(any(MimeMessage[].class));
+        outbox.enqueue("user@example.org", "Your MediMind verification code", "<p>123456</p>", Duration.ofMinutes(10));
+        assertThat(only().getStatus()).isEqualTo(OutboxEmail.Status.PENDING);
+
+        outbox.dispatch();
+        OutboxEmail retried = only();
+        assertThat(retried.getStatus()).isEqualTo(OutboxEmail.Status.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getLastError()).contains("SMTP down");
+        assertThat(retried.getBody()).isNotNull();
+
+        outbox.dispatch();
+        OutboxEmail dead = only();
+        assertThat(dead.getStatus()).isEqualTo(OutboxEmail.Status.DEAD);
+        assertThat(dead.getAttempts()).isEqualTo(2);
+        assertThat(dead.getBody()).isNull();
+
+        // A DEAD row is never claimed again
+        outbox.dispatch();
+        assertThat(only().getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void sentRowKeepsNoBody() {
+        doNothing().when(mailSender).send(any(MimeMessage[].class));
+        outbox.enqueue("user@example.org", "Reset your MediMind password", "<p>654321</p>", Duration.ofMinutes(10));
+
+        outbox.dispatch();
+        OutboxEmail sent = only();
+        assertThat(sent.getStatus()).isEqualTo(OutboxEmail.Status.SENT);
+        assertThat(sent.getSentAt()).isNotNull();
+        assertThat(sent.getBody()).isNull();
+    }
+
+    @Test
+    void expiredRowIsDeadWithoutBeingSent() throws InterruptedException {
+        doThrow(new AssertionError("expired email was sent")).when(mailSender).send(any(MimeMessage[].class));
+        outbox.enqueue("user@example.org", "Your MediMind verification code", "<p>123456</p>", Duration.ofMillis(1));
+        Thread.sleep(20);
+
+        outbox.dispatch();
+        OutboxEmail dead = only();
+        assertThat(dead.getStatus()).isEqualTo(OutboxEmail.Status.DEAD);
+        assertThat(dead.getLastError()).startsWith("Expired");
+        assertThat(dead.getBody()).isNull();
+    }
+}
@@ -114,25 +114,10 @@ export default function Badges({ user, setUser }: { user: any, setUser: any }) {
 
         setShowClaimAnimation(true);
         
-        const newStreak = dailyStreak.currentStreak + 1;
-        let bonus = 5;
-        if (newStreak >= 7) bonus = 15;
-        if (newStreak >= 14) bonus = 25;
-        if (newStreak >= 30) bonus = 50;
-        if (newStreak >= 60) bonus = 100;
-
-        const newPoints = points + bonus;
-        const newLevel = calculateLevel(newPoints);
-
         try {
-            const res = await axios.put('/api/user/update', {
-                ...user,
-                id: user.id,
-                points: newPoints,
-                level: newLevel,
-                streak: newStreak,
-                lastClaimDate: new Date().toISOString()
-            });
+            // Server validates the claim and computes streak, bonus and level
+            const res = await axios.post(`/api/gamification/claim/${user.id}`);
+            const { points: newPoints, level: newLevel, streak: newStreak, bonus, lastClaimDate } = res.data;
             
             setPoints(newPoints);
             setLevel(newLevel);
@@ -140,13 +125,14 @@ export default function Badges({ user, setUser }: { user: any, setUser: any }) {
                 ...dailyStreak,
                 currentStreak: newStreak,
                 canClaimToday: false,
-                lastClaimDate: new Date().toDateString(),
+                lastClaimDate: new Date(lastClaimDate).toDateString(),
                 streakBonus: bonus
             });
             
             // Update parent user state
-            setUser({ ...user, points: newPoints, level: newLevel, streak: newStreak, lastClaimDate: new Date().toISOString() });
-            localStorage.setItem('user', JSON.stringify({ ...user, points: newPoints, level: newLevel, streak: newStreak, lastClaimDate: new Date().toISOString() }));
+            const updatedUser = { ...user, points: newPoints, level: newLevel, streak: newStreak, lastClaimDate };
+            setUser(updatedUser);
+            localStorage.setItem('user', JSON.stringify(updatedUser));
 
             setTimeout(() => setShowClaimAnimation(false), 2000);
         } catch (err) {
@@ -155,14 +141,6 @@ export default function Badges({ user, setUser }: { user: any, setUser: any }) {
         }
     };
 
-    const calculateLevel = (pts: number): string => {
-        if (pts >= 7500) return 'Diamond';
-        if (pts >= 3500) return 'Platinum';
-        if (pts >= 1500) return 'Gold';
-        if (pts >= 500) return 'Silver';
-        return 'Bronze';
-    };
-
     const getNextLevelPoints = (): number => {
         if (points >= 7500) return 10000;
         if (points >= 3500) return 7500;
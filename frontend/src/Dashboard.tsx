@@ -40,9 +40,7 @@ export default function Dashboard({ user, setUser, logout }: { user: any, setUse
 
     useEffect(() => {
         if (user?.id) {
-            fetchMedicineSummary();
-            fetchBmiInfo();
-            fetchCalorieInfo();
+            fetchDashboard();
         }
     }, [user?.id]);
 
@@ -71,12 +69,7 @@ export default function Dashboard({ user, setUser, logout }: { user: any, setUse
                     // Use ref to get latest user data
                     const currentUser = userRef.current;
                     
-                    const updateData = {
-                        id: currentUser.id,
-                        perfectDays: (currentUser.perfectDays || 0) + 1
-                    };
-                    
-                    const res = await axios.put('/api/user/update', updateData);
+                    const res = await axios.post(`/api/user/${currentUser.id}/stats/perfect-days`);
                     const updatedUser = { ...currentUser, ...res.data };
                     setUser(updatedUser);
                     localStorage.setItem('user', JSON.stringify(updatedUser));
@@ -88,6 +81,25 @@ export default function Dashboard({ user, setUser, logout }: { user: any, setUse
         }
     };
 
+    // One request for all cards; sections the server could not load in time
+    // are fetched from their own endpoints
+    const fetchDashboard = async () => {
+        try {
+            const res = await axios.get(`/api/dashboard/${user.id}`);
+            const missing: string[] = res.data.missing || [];
+            setBmiInfo(res.data.bmi);
+            if (missing.includes('medicineSummary')) fetchMedicineSummary();
+            else setMedicineSummary(res.data.medicineSummary);
+            if (missing.includes('calories')) fetchCalorieInfo();
+            else setCalorieInfo(res.data.calories);
+        } catch (err) {
+            console.error('Error fetching dashboard:', err);
+            fetchMedicineSummary();
+            fetchBmiInfo();
+            fetchCalorieInfo();
+        }
+    };
+
     const fetchCalorieInfo = async () => {
         try {
             const res = await axios.get(`/api/meals/calories/${user.id}`);
@@ -21,7 +21,7 @@ export default function Hydration({ user, setUser }: { user: any, setUser: any }
         if (waterIntake < dailyGoal) {
             const newIntake = waterIntake + 1;
             setWaterIntake(newIntake);
-            await saveWaterIntake(newIntake, true);
+            await saveWaterIntake(true);
             if (newIntake === dailyGoal) {
                 setMessage('🎉 Great! You reached your daily water goal!');
                 setTimeout(() => setMessage(''), 3000);
@@ -33,39 +33,20 @@ export default function Hydration({ user, setUser }: { user: any, setUser: any }
         if (waterIntake > 0) {
             const newIntake = waterIntake - 1;
             setWaterIntake(newIntake);
-            await saveWaterIntake(newIntake, false);
+            await saveWaterIntake(false);
         }
     };
 
-    const saveWaterIntake = async (intake: number, isAdding: boolean) => {
+    const saveWaterIntake = async (isAdding: boolean) => {
         try {
             // Use ref to get latest user data
             const currentUser = userRef.current;
             
-            // Track time of day for morning/evening achievements
-            const hour = new Date().getHours();
-            const isMorning = hour >= 5 && hour < 12;
-            const isEvening = hour >= 18 && hour < 24;
-            
-            const updateData: any = { 
-                id: currentUser.id,
-                waterIntake: intake 
-            };
-            
-            // Increment totalWaterLogs only when adding water
-            if (isAdding) {
-                updateData.totalWaterLogs = (currentUser.totalWaterLogs || 0) + 1;
-                
-                // Track morning/evening logs
-                if (isMorning) {
-                    updateData.morningLogs = (currentUser.morningLogs || 0) + 1;
-                }
-                if (isEvening) {
-                    updateData.eveningLogs = (currentUser.eveningLogs || 0) + 1;
-                }
-            }
-            
-            const res = await axios.put('/api/user/update', updateData);
+            // Server adjusts intake, totalWaterLogs and morning/evening logs atomically
+            const res = await axios.post(`/api/user/${currentUser.id}/water`, {
+                amount: isAdding ? 1 : -1
+            });
+            setWaterIntake(res.data.waterIntake);
             const updatedUser = { ...currentUser, ...res.data };
             setUser(updatedUser);
             localStorage.setItem('user', JSON.stringify(updatedUser));
@@ -14,6 +14,31 @@ interface JournalEntry {
     updatedAt?: string;
 }
 
+// List view from /api/journal/summaries: no body, just the start of it
+interface JournalSummary {
+    id: number;
+    title: string;
+    mood: string;
+    tags: string;
+    createdAt?: string;
+    updatedAt?: string;
+    snippet: string;
+    contentLength: number;
+}
+
+const SNIPPET_LENGTH = 300;
+
+const toSummary = (entry: JournalEntry): JournalSummary => ({
+    id: entry.id!,
+    title: entry.title,
+    mood: entry.mood,
+    tags: entry.tags,
+    createdAt: entry.createdAt,
+    updatedAt: entry.updatedAt,
+    snippet: entry.content.substring(0, SNIPPET_LENGTH),
+    contentLength: entry.content.length
+});
+
 const MOODS = [
     { name: 'Happy', emoji: '😊', color: 'from-yellow-400 to-amber-400' },
     { name: 'Excited', emoji: '🤩', color: 'from-pink-400 to-rose-400' },
@@ -27,7 +52,9 @@ const MOODS = [
 
 export default function Journal({ user, setUser }: { user: any, setUser: (u: any) => void }) {
     const navigate = useNavigate();
-    const [entries, setEntries] = useState<JournalEntry[]>([]);
+    const [entries, setEntries] = useState<JournalSummary[]>([]);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
+    const [totalEntries, setTotalEntries] = useState(0);
     
     // Use ref to track the latest user data for achievement counting
     const userRef = useRef(user);
@@ -58,8 +85,10 @@ export default function Journal({ user, setUser }: { user: any, setUser: (u: any
     const fetchEntries = async () => {
         setIsLoading(true);
         try {
-            const res = await axios.get(`/api/journal/${user.id}`);
-            setEntries(res.data);
+            const res = await axios.get(`/api/journal/summaries/${user.id}`);
+            setEntries(res.data.entries);
+            setNextCursor(res.data.nextCursor);
+            setTotalEntries(res.data.total);
         } catch (err) {
             console.error('Failed to fetch journal entries:', err);
         } finally {
@@ -67,6 +96,27 @@ export default function Journal({ user, setUser }: { user: any, setUser: (u: any
         }
     };
 
+    const loadMoreEntries = async () => {
+        if (!nextCursor) return;
+        try {
+            const res = await axios.get(`/api/journal/summaries/${user.id}?cursor=${encodeURIComponent(nextCursor)}`);
+            setEntries(prevEntries => [...prevEntries, ...res.data.entries]);
+            setNextCursor(res.data.nextCursor);
+        } catch (err) {
+            console.error('Failed to load more journal entries:', err);
+        }
+    };
+
+    // The list only has snippets; fetch the full text before editing
+    const startEditing = async (id: number) => {
+        try {
+            const res = await axios.get(`/api/journal/entry/${id}`);
+            setEditingEntry(res.data);
+        } catch (err) {
+            console.error('Failed to load journal entry:', err);
+        }
+    };
+
     const saveEntry = async () => {
         if (!newEntry.content.trim()) {
             alert('Please write something in your journal entry!');
@@ -84,7 +134,8 @@ export default function Journal({ user, setUser }: { user: any, setUser: (u: any
             
             // Add the new entry to the list immediately
             const savedEntry = res.data;
-            setEntries(prevEntries => [savedEntry, ...prevEntries]);
+            setEntries(prevEntries => [toSummary(savedEntry), ...prevEntries]);
+            setTotalEntries(total => total + 1);
             
             // Reset form
             setNewEntry({ userId: user.id, title: '', content: '', mood: '', tags: '' });
@@ -97,25 +148,8 @@ export default function Journal({ user, setUser }: { user: any, setUser: (u: any
             // Use ref to get latest user data for accurate counting
             const currentUser = userRef.current;
             
-            // Update user's journal entry count and persist to backend
-            const hour = new Date().getHours();
-            const isMorning = hour >= 5 && hour < 12;
-            const isEvening = hour >= 18 && hour < 24;
-            
-            const updateData: any = { 
-                id: currentUser.id,
-                journalEntries: (currentUser.journalEntries || 0) + 1 
-            };
-            
-            // Track morning/evening logs
-            if (isMorning) {
-                updateData.morningLogs = (currentUser.morningLogs || 0) + 1;
-            }
-            if (isEvening) {
-                updateData.eveningLogs = (currentUser.eveningLogs || 0) + 1;
-            }
-            
-            const userRes = await axios.put('/api/user/update', updateData);
+            // Server increments the journal count and morning/evening logs atomically
+            const userRes = await axios.post(`/api/user/${currentUser.id}/stats/journal`);
             const updatedUser = { ...currentUser, ...userRes.data };
             setUser(updatedUser);
             localStorage.setItem('user', JSON.stringify(updatedUser));
@@ -134,7 +168,7 @@ export default function Journal({ user, setUser }: { user: any, setUser: (u: any
         
         try {
             const res = await axios.put(`/api/journal/${editingEntry.id}`, editingEntry);
-            setEntries(entries.map(e => e.id === editingEntry.id ? res.data : e));
+            setEntries(entries.map(e => e.id === editingEntry.id ? toSummary(res.data) : e));
             setEditingEntry(null);
             setSaveSuccess(true);
             setTimeout(() => setSaveSuccess(false), 3000);
@@ -148,6 +182,7 @@ export default function Journal({ user, setUser }: { user: any, setUser: (u: any
         try {
             await axios.delete(`/api/journal/${id}`);
             setEntries(entries.filter(e => e.id !== id));
+            setTotalEntries(total => total - 1);
             setDeleteConfirm(null);
             
             // Show delete success message
@@ -180,7 +215,7 @@ export default function Journal({ user, setUser }: { user: any, setUser: (u: any
     const filteredEntries = entries.filter(entry => {
         const matchesSearch = !searchQuery || 
             entry.title?.toLowerCase().includes(searchQuery.toLowerCase()) ||
-            entry.content.toLowerCase().includes(searchQuery.toLowerCase()) ||
+            entry.snippet?.toLowerCase().includes(searchQuery.toLowerCase()) ||
             entry.tags?.toLowerCase().includes(searchQuery.toLowerCase());
         const matchesMood = !filterMood || entry.mood === filterMood;
         return matchesSearch && matchesMood;
@@ -248,7 +283,7 @@ export default function Journal({ user, setUser }: { user: any, setUser: (u: any
                         </div>
                     </div>
                     <div className="text-right text-white">
-                        <p className="text-3xl font-bold">{entries.length}</p>
+                        <p className="text-3xl font-bold">{totalEntries}</p>
                         <p className="text-sm opacity-80">Total Entries</p>
                     </div>
                 </div>
@@ -418,14 +453,14 @@ export default function Journal({ user, setUser }: { user: any, setUser: (u: any
                                     </div>
                                     <div className="flex gap-2">
                                         <button
-                                            onClick={() => setEditingEntry(entry)}
+                                            onClick={() => startEditing(entry.id)}
                                             className="p-2 rounded-lg bg-purple-100 text-purple-600 hover:bg-purple-200 transition"
                                             title="Edit entry"
                                         >
                                             <Edit2 size={18} />
                                         </button>
                                         <button
-                                            onClick={() => setDeleteConfirm(entry.id!)}
+                                            onClick={() => setDeleteConfirm(entry.id)}
                                             className="p-2 rounded-lg bg-red-100 text-red-600 hover:bg-red-200 transition"
                                             title="Delete entry"
                                         >
@@ -435,7 +470,7 @@ export default function Journal({ user, setUser }: { user: any, setUser: (u: any
                                 </div>
                                 
                                 <p className="text-gray-700 whitespace-pre-wrap mb-4 leading-relaxed">
-                                    {entry.content.length > 300 ? entry.content.substring(0, 300) + '...' : entry.content}
+                                    {entry.contentLength > entry.snippet.length ? entry.snippet + '...' : entry.snippet}
                                 </p>
                                 
                                 {entry.tags && (
@@ -453,6 +488,14 @@ export default function Journal({ user, setUser }: { user: any, setUser: (u: any
                             </div>
                         );
                     })}
+                    {nextCursor && (
+                        <button
+                            onClick={loadMoreEntries}
+                            className="w-full py-3 rounded-xl border-2 border-purple-200 text-purple-600 font-semibold hover:bg-purple-50 transition"
+                        >
+                            <ChevronDown size={18} className="inline mr-1" /> Load older entries
+                        </button>
+                    )}
                 </div>
             ) : (
                 <div className="text-center py-20 bg-white rounded-2xl border-2 border-dashed border-purple-200">
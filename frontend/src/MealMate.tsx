@@ -133,24 +133,8 @@ export default function MealMate({ user, setUser }: { user: any, setUser: any })
             // Use ref to get latest user data
             const currentUser = userRef.current;
             
-            const hour = new Date().getHours();
-            const isMorning = hour >= 5 && hour < 12;
-            const isEvening = hour >= 18 && hour < 24;
-            
-            const updateData: any = {
-                id: currentUser.id,
-                totalMealsLogged: (currentUser.totalMealsLogged || 0) + 1
-            };
-            
-            // Track morning/evening logs
-            if (isMorning) {
-                updateData.morningLogs = (currentUser.morningLogs || 0) + 1;
-            }
-            if (isEvening) {
-                updateData.eveningLogs = (currentUser.eveningLogs || 0) + 1;
-            }
-            
-            const res = await axios.put('/api/user/update', updateData);
+            // Server increments the meal count and morning/evening logs atomically
+            const res = await axios.post(`/api/user/${currentUser.id}/stats/meals`);
             const updatedUser = { ...currentUser, ...res.data };
             setUser(updatedUser);
             localStorage.setItem('user', JSON.stringify(updatedUser));
@@ -239,12 +239,7 @@ export default function MyMedicine({ user, setUser }: { user: any, setUser: (u:
                     // Use ref to get latest user data
                     const currentUser = userRef.current;
                     
-                    const updateData = {
-                        id: currentUser.id,
-                        perfectMedicineDays: (currentUser.perfectMedicineDays || 0) + 1
-                    };
-                    
-                    const res = await axios.put('/api/user/update', updateData);
+                    const res = await axios.post(`/api/user/${currentUser.id}/stats/perfect-medicine-days`);
                     const updatedUser = { ...currentUser, ...res.data };
                     setUser(updatedUser);
                     localStorage.setItem('user', JSON.stringify(updatedUser));
@@ -4,10 +4,13 @@ import { useNavigate } from 'react-router-dom';
 import { Settings, Trash2, Camera, User, Bell, LogOut, ChevronRight, Scale, Heart, Calendar, Search, Plus, X, Volume2, Lock, Eye, EyeOff, AlertCircle, Edit2, CheckCircle } from 'lucide-react';
 import { playRingtone, SoundType } from './utils/audioNotification';
 
+// Summaries carry a snippet; search and date results carry the full content
 interface JournalEntry {
     id: number;
     title: string;
-    content: string;
+    content?: string;
+    snippet?: string;
+    contentLength?: number;
     mood: string;
     tags: string;
     createdAt: string;
@@ -142,8 +145,8 @@ export default function Profile({ user, setUser }: { user: any, setUser: any })
 
     const fetchJournal = async () => {
         try {
-            const res = await axios.get(`/api/journal/${user.id}`);
-            setJournal(res.data);
+            const res = await axios.get(`/api/journal/summaries/${user.id}`);
+            setJournal(res.data.entries);
         } catch (err) {
             console.error('Error fetching journal:', err);
         }
@@ -152,10 +155,10 @@ export default function Profile({ user, setUser }: { user: any, setUser: any })
     const searchJournal = async () => {
         try {
             if (journalSearch) {
-                const res = await axios.get(`/api/journal/${user.id}/search?keyword=${encodeURIComponent(journalSearch)}`);
+                const res = await axios.get(`/api/journal/search/${user.id}?keyword=${encodeURIComponent(journalSearch)}`);
                 setJournal(res.data);
             } else if (dateFilter) {
-                const res = await axios.get(`/api/journal/${user.id}/date?date=${dateFilter}`);
+                const res = await axios.get(`/api/journal/date/${user.id}?date=${dateFilter}`);
                 setJournal(res.data);
             } else {
                 fetchJournal();
@@ -282,7 +285,7 @@ export default function Profile({ user, setUser }: { user: any, setUser: any })
                     userId: user.id
                 });
             } else {
-                await axios.post('/api/journal', {
+                await axios.post('/api/journal/add', {
                     ...newEntry,
                     userId: user.id
                 });
@@ -296,6 +299,17 @@ export default function Profile({ user, setUser }: { user: any, setUser: any })
         }
     };
 
+    const editJournalEntry = async (id: number) => {
+        try {
+            const res = await axios.get(`/api/journal/entry/${id}`);
+            setEditingEntry(res.data);
+            setNewEntry(res.data);
+            setShowJournalForm(true);
+        } catch (err) {
+            console.error('Error loading journal entry:', err);
+        }
+    };
+
     const deleteJournalEntry = async (id: number) => {
         if (!confirm('Delete this journal entry?')) return;
         try {
@@ -638,7 +652,7 @@ export default function Profile({ user, setUser }: { user: any, setUser: any })
                                     <div className="flex items-center gap-3">
                                         <span className="text-3xl">{entry.mood?.split(' ')[1] || '😊'}</span>
                                         <button 
-                                            onClick={() => { setEditingEntry(entry); setNewEntry(entry); setShowJournalForm(true); }}
+                                            onClick={() => editJournalEntry(entry.id)}
                                             className="text-purple-400 hover:text-purple-600 font-medium transition-colors"
                                         >
                                             ✏️ Edit
@@ -651,7 +665,9 @@ export default function Profile({ user, setUser }: { user: any, setUser: any })
                                         </button>
                                     </div>
                                 </div>
-                                <p className="text-gray-600 whitespace-pre-wrap leading-relaxed">{entry.content}</p>
+                                <p className="text-gray-600 whitespace-pre-wrap leading-relaxed">
+                                    {entry.content ?? ((entry.contentLength ?? 0) > (entry.snippet?.length ?? 0) ? entry.snippet + '...' : entry.snippet)}
+                                </p>
                                 {entry.tags && (
                                     <div className="mt-4 flex flex-wrap gap-2">
                                         {entry.tags.split(',').map((tag, i) => {